@@ -9,6 +9,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @SpringBootApplication
 @EnableRetry
 @EnableCaching
+@EnableScheduling
 public class ApiApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,258 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Client-side model of the upstream's request budget. The mock server accepts a fixed number of requests and then
+ * rejects everything until a quiet period has passed since the last accepted one, so this is a token bucket that is
+ * refilled all at once. Its capacity is learned from how many requests were accepted, or still in flight, when a 429
+ * arrived, and lowered by one for each further 429 from the same window. A window whose requests were all accepted
+ * raises it by one, so an estimate that came out low recovers. The refill period grows whenever the first request after
+ * a predicted refill is still rejected, and decays back toward its initial value after each clean window.
+ *
+ * <p>Every permit belongs to one window, and its outcome only counts towards that window, so a response that arrives
+ * after the next refill does not skew the new window's counts. Requests predicted to be rejected wait for the refill if
+ * it is due within {@code maxWait}, and are otherwise rejected locally with the same 429 the upstream would have sent.
+ * The hot path is a single CAS on an immutable window.
+ */
+public class AdaptiveRateLimiter implements MeterBinder {
+
+    private static final long UNKNOWN = Long.MAX_VALUE;
+
+    private final LongSupplier clock;
+    private final long maxWaitNanos;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    private final AtomicReference<Window> window;
+    private final LongAdder shortCircuited = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    // Learned estimates. Only written on a 429 or a refill, so last-writer-wins is good enough.
+    private volatile long capacity = UNKNOWN;
+    private volatile long backoffNanos;
+
+    public AdaptiveRateLimiter(Duration initialBackoff, Duration maxBackoff, Duration maxWait, LongSupplier clock) {
+        this.clock = clock;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.backoffNanos = initialBackoffNanos;
+        this.window = new AtomicReference<>(new Window(0, 0, 0, 0, clock.getAsLong(), false, 0, false, false));
+    }
+
+    /**
+     * Takes a permit, waiting up to {@code maxWait} for the predicted refill.
+     *
+     * @return the permit, to be passed to exactly one of {@link #onSuccess}, {@link #onRejected} or {@link #onFailed}
+     * @throws HttpClientErrorException with {@code 429} if the upstream is predicted to reject the request
+     */
+    public long acquire() {
+        long deadline = clock.getAsLong() + maxWaitNanos;
+        long permit;
+        while ((permit = tryAcquire()) < 0) {
+            long wait = -permit;
+            if (clock.getAsLong() + wait - deadline > 0 || Thread.currentThread().isInterrupted()) {
+                shortCircuited.increment();
+                throw new HttpClientErrorException(
+                        HttpStatus.TOO_MANY_REQUESTS, "Upstream rate limit predicted, request not sent");
+            }
+            LockSupport.parkNanos(wait);
+        }
+        return permit;
+    }
+
+    /**
+     * Takes a permit if one is available.
+     *
+     * @return the permit, which is never negative, or minus the nanoseconds until one is expected
+     */
+    public long tryAcquire() {
+        while (true) {
+            Window current = window.get();
+            long now = clock.getAsLong();
+            if (current.blocked() && current.blockedUntil() - now > 0) {
+                return -(current.blockedUntil() - now);
+            }
+            long limit = capacity;
+            Window next;
+            if (current.admitted() >= limit) {
+                long refillAt = current.lastAdmittedAt() + backoffNanos;
+                if (refillAt - now > 0) {
+                    window.compareAndSet(current, current.blockUntil(refillAt));
+                    continue;
+                }
+                next = current.refill(now);
+            } else if (current.blocked()) {
+                next = current.refill(now);
+            } else {
+                next = current.admit(now);
+            }
+            if (window.compareAndSet(current, next)) {
+                if (next.generation() != current.generation()) {
+                    learnFromCleanWindow(current, limit);
+                }
+                return next.generation();
+            }
+        }
+    }
+
+    /**
+     * Records that the upstream answered the request, with anything but a 429.
+     */
+    public void onSuccess(long permit) {
+        window.getAndUpdate(current -> current.generation() == permit ? current.accept() : current);
+    }
+
+    /**
+     * Records that the request failed without an answer from the upstream, so it says nothing about the budget.
+     */
+    public void onFailed(long permit) {
+        window.getAndUpdate(current -> current.generation() == permit ? current.settle() : current);
+    }
+
+    /**
+     * Records that the upstream rejected the request with a 429.
+     */
+    public void onRejected(long permit) {
+        throttled.increment();
+        long now = clock.getAsLong();
+        long until = now + backoffNanos;
+        Window rejectedIn = window.getAndUpdate(current -> current.generation() == permit
+                ? current.reject(until, current.rejected() ? current.mispredicted() : mispredicted(current))
+                : current);
+        if (rejectedIn.generation() != permit) {
+            return;
+        }
+        if (rejectedIn.rejected()) {
+            if (!rejectedIn.mispredicted()) {
+                // Was still in flight when the first 429 of its window landed, and counted as accepted then.
+                capacity = Math.max(Math.max(1, rejectedIn.accepted()), capacity - 1);
+            }
+            return;
+        }
+        if (mispredicted(rejectedIn)) {
+            backoffNanos = Math.min(maxBackoffNanos, backoffNanos + backoffNanos / 2);
+            return;
+        }
+        long inFlight = rejectedIn.admitted() - rejectedIn.accepted() - rejectedIn.settled() - 1;
+        capacity = Math.max(1, rejectedIn.accepted() + Math.max(0, inFlight));
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public Duration getBackoff() {
+        return Duration.ofNanos(backoffNanos);
+    }
+
+    // Nothing got through since the last refill, so the refill was predicted too early.
+    private boolean mispredicted(Window rejectedIn) {
+        return rejectedIn.accepted() == 0 && capacity != UNKNOWN;
+    }
+
+    private void learnFromCleanWindow(Window ended, long limit) {
+        if (ended.rejected() || ended.accepted() == 0) {
+            return;
+        }
+        backoffNanos = Math.max(initialBackoffNanos, backoffNanos - backoffNanos / 8);
+        if (limit != UNKNOWN && ended.accepted() >= limit) {
+            // Every permit was accepted, so the upstream may allow more: probe for one.
+            capacity = limit + 1;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.client.limiter.capacity", this, l -> l.capacity == UNKNOWN ? Double.NaN : l.capacity)
+                .description("Learned number of upstream requests accepted per rate-limit window")
+                .register(registry);
+        TimeGauge.builder("employee.client.limiter.backoff", this, TimeUnit.NANOSECONDS, l -> l.backoffNanos)
+                .description("Learned length of the upstream rate-limit block")
+                .register(registry);
+        FunctionCounter.builder("employee.client.limiter.short.circuited", shortCircuited, LongAdder::sum)
+                .description("Requests rejected locally because the upstream was predicted to reject them")
+                .register(registry);
+        FunctionCounter.builder("employee.client.limiter.throttled", throttled, LongAdder::sum)
+                .description("429 responses received from the upstream")
+                .register(registry);
+    }
+
+    private record Window(
+            long generation,
+            long admitted,
+            long accepted,
+            long settled,
+            long lastAdmittedAt,
+            boolean blocked,
+            long blockedUntil,
+            boolean rejected,
+            boolean mispredicted) {
+
+        Window admit(long now) {
+            return new Window(
+                    generation, admitted + 1, accepted, settled, now, blocked, blockedUntil, rejected, mispredicted);
+        }
+
+        Window refill(long now) {
+            return new Window(generation + 1, 1, 0, 0, now, false, 0, false, false);
+        }
+
+        Window accept() {
+            return new Window(
+                    generation,
+                    admitted,
+                    accepted + 1,
+                    settled,
+                    lastAdmittedAt,
+                    blocked,
+                    blockedUntil,
+                    rejected,
+                    mispredicted);
+        }
+
+        Window settle() {
+            return new Window(
+                    generation,
+                    admitted,
+                    accepted,
+                    settled + 1,
+                    lastAdmittedAt,
+                    blocked,
+                    blockedUntil,
+                    rejected,
+                    mispredicted);
+        }
+
+        Window blockUntil(long until) {
+            return new Window(
+                    generation, admitted, accepted, settled, lastAdmittedAt, true, until, rejected, mispredicted);
+        }
+
+        Window reject(long until, boolean mispredicted) {
+            return new Window(
+                    generation,
+                    admitted,
+                    accepted,
+                    settled,
+                    lastAdmittedAt,
+                    true,
+                    blocked && blockedUntil - until > 0 ? blockedUntil : until,
+                    true,
+                    mispredicted);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.Response;
+import feign.FeignException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Sends every upstream call through the {@link AdaptiveRateLimiter} and reports back whether the upstream accepted it.
+ */
+public class AdmissionControlledEmployeeApi implements EmployeeApi {
+
+    private final EmployeeApi delegate;
+    private final AdaptiveRateLimiter limiter;
+
+    public AdmissionControlledEmployeeApi(EmployeeApi delegate, AdaptiveRateLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public List<Employee> fetchAll() {
+        return admit(delegate::fetchAll);
+    }
+
+    @Override
+    public feign.Response fetchAllIfNoneMatch(String etag) {
+        return admit(() -> FeignToSpringErrorDecoder.raiseForStatus(
+                "EmployeeApi#fetchAllIfNoneMatch(String)", delegate.fetchAllIfNoneMatch(etag)));
+    }
+
+    @Override
+    public Response<EmployeePage> fetchPage(long cursor, long until, int limit) {
+        return admit(() -> delegate.fetchPage(cursor, until, limit));
+    }
+
+    @Override
+    public Response<EmployeeChanges> fetchChanges(String epoch, long since) {
+        return admit(() -> delegate.fetchChanges(epoch, since));
+    }
+
+    @Override
+    public Response<Employee> fetchById(String id) {
+        return admit(() -> delegate.fetchById(id));
+    }
+
+    @Override
+    public Response<Employee> create(Map<String, Object> body) {
+        return admit(() -> delegate.create(body));
+    }
+
+    @Override
+    public Response<Boolean> deleteByName(Map<String, Object> body) {
+        return admit(() -> delegate.deleteByName(body));
+    }
+
+    private <T> T admit(Supplier<T> call) {
+        long permit = limiter.acquire();
+        try {
+            T result = call.get();
+            limiter.onSuccess(permit);
+            return result;
+        } catch (RuntimeException ex) {
+            if (answeredStatus(ex) == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                limiter.onRejected(permit);
+            } else if (answeredStatus(ex) > 0) {
+                // Any other answer was still counted against the upstream's budget.
+                limiter.onSuccess(permit);
+            } else {
+                limiter.onFailed(permit);
+            }
+            throw ex;
+        }
+    }
+
+    // The status the upstream answered with, or 0 if the request failed in transport and may never have reached it.
+    private static int answeredStatus(RuntimeException ex) {
+        if (ex instanceof HttpStatusCodeException statusEx) {
+            return statusEx.getStatusCode().value();
+        }
+        if (ex instanceof FeignException feignEx) {
+            return Math.max(0, feignEx.status());
+        }
+        return 0;
+    }
+}
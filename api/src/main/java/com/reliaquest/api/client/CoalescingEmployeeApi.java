@@ -0,0 +1,72 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shares one upstream call between concurrent reads of the same roster or the same id. Pages, conditional fetches and
+ * change feeds, which only the roster loader makes, and writes are passed straight through.
+ */
+public class CoalescingEmployeeApi implements EmployeeApi {
+
+    private static final String ALL = "all";
+
+    private final EmployeeApi delegate;
+    private final SingleFlight<String, List<Employee>> fetchAllCalls;
+    private final SingleFlight<String, Response<Employee>> fetchByIdCalls;
+
+    public CoalescingEmployeeApi(EmployeeApi delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.fetchAllCalls = new SingleFlight<>(coalescedCounter(meterRegistry, "fetchAll"));
+        this.fetchByIdCalls = new SingleFlight<>(coalescedCounter(meterRegistry, "fetchById"));
+    }
+
+    @Override
+    public List<Employee> fetchAll() {
+        return fetchAllCalls.execute(ALL, delegate::fetchAll);
+    }
+
+    @Override
+    public feign.Response fetchAllIfNoneMatch(String etag) {
+        // A response body can only be read once, so it cannot be shared.
+        return delegate.fetchAllIfNoneMatch(etag);
+    }
+
+    @Override
+    public Response<EmployeePage> fetchPage(long cursor, long until, int limit) {
+        return delegate.fetchPage(cursor, until, limit);
+    }
+
+    @Override
+    public Response<EmployeeChanges> fetchChanges(String epoch, long since) {
+        return delegate.fetchChanges(epoch, since);
+    }
+
+    @Override
+    public Response<Employee> fetchById(String id) {
+        return fetchByIdCalls.execute(id, () -> delegate.fetchById(id));
+    }
+
+    @Override
+    public Response<Employee> create(Map<String, Object> body) {
+        return delegate.create(body);
+    }
+
+    @Override
+    public Response<Boolean> deleteByName(Map<String, Object> body) {
+        return delegate.deleteByName(body);
+    }
+
+    private static Counter coalescedCounter(MeterRegistry meterRegistry, String operation) {
+        return Counter.builder("employee.client.coalesced")
+                .description("Upstream calls answered by joining an identical call already in flight")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
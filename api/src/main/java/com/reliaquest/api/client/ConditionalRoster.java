@@ -0,0 +1,20 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.RosterVersion;
+import java.util.List;
+
+/**
+ * Result of a conditional roster fetch: the roster, its ETag and its upstream change version (either may be null), or
+ * no roster if the one matching {@code etag} is still current.
+ */
+public record ConditionalRoster(List<Employee> employees, String etag, RosterVersion upstreamVersion) {
+
+    public static ConditionalRoster notModified(String etag) {
+        return new ConditionalRoster(null, etag, null);
+    }
+
+    public boolean isModified() {
+        return employees != null;
+    }
+}
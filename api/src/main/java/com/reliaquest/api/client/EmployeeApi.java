@@ -1,18 +1,36 @@
 package com.reliaquest.api.client;
 
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeePage;
 import com.reliaquest.api.model.Response;
 import feign.Headers;
 import feign.Param;
 import feign.RequestLine;
+import java.util.List;
 import java.util.Map;
 
 public interface EmployeeApi {
 
     @RequestLine("GET")
-    Response<Employee[]> fetchAll();
+    List<Employee> fetchAll();
 
-    @RequestLine("GET {id}")
+    /**
+     * Returned raw so that a {@code 304 Not Modified} reaches the caller instead of the error decoder; check it with
+     * {@link FeignToSpringErrorDecoder#raiseForStatus}. The body must be closed.
+     */
+    @RequestLine("GET")
+    @Headers("If-None-Match: {etag}")
+    feign.Response fetchAllIfNoneMatch(@Param("etag") String etag);
+
+    @RequestLine("GET /page?cursor={cursor}&until={until}&limit={limit}")
+    Response<EmployeePage> fetchPage(
+            @Param("cursor") long cursor, @Param("until") long until, @Param("limit") int limit);
+
+    @RequestLine("GET /changes?epoch={epoch}&since={since}")
+    Response<EmployeeChanges> fetchChanges(@Param("epoch") String epoch, @Param("since") long since);
+
+    @RequestLine("GET /{id}")
     Response<Employee> fetchById(@Param("id") String id);
 
     @RequestLine("POST")
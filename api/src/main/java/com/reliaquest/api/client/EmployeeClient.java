@@ -2,13 +2,20 @@ package com.reliaquest.api.client;
 
 import com.reliaquest.api.exception.TooManyRequestsException;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
 import com.reliaquest.api.model.Response;
+import com.reliaquest.api.model.RosterVersion;
 import feign.FeignException;
+import feign.codec.DecodeException;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Recover;
@@ -21,15 +28,69 @@ import org.springframework.web.client.HttpClientErrorException;
 @RequiredArgsConstructor
 public class EmployeeClient {
 
+    static final String ROSTER_EPOCH_HEADER = "X-Roster-Epoch";
+    static final String ROSTER_VERSION_HEADER = "X-Roster-Version";
+
     private final EmployeeApi employeeApi;
 
+    private final RosterDecoder rosterDecoder;
+
     @Retryable(
             value = {FeignException.class},
             maxAttempts = 5,
             backoff = @Backoff(delay = 200, multiplier = 2))
     public List<Employee> fetchAll() {
-        Response<Employee[]> resp = employeeApi.fetchAll();
-        return List.of(Objects.requireNonNull(resp.getData()));
+        // Shared by every coalesced caller, so hand out a read-only view rather than another copy.
+        return Collections.unmodifiableList(Objects.requireNonNull(employeeApi.fetchAll()));
+    }
+
+    /**
+     * Fetches the roster unless the upstream's current one still matches {@code etag}, which may be null.
+     */
+    @Retryable(
+            value = {FeignException.class},
+            maxAttempts = 5,
+            backoff = @Backoff(delay = 200, multiplier = 2))
+    public ConditionalRoster fetchAllIfChanged(String etag) {
+        try (feign.Response response = employeeApi.fetchAllIfNoneMatch(etag)) {
+            FeignToSpringErrorDecoder.raiseForStatus("EmployeeApi#fetchAllIfNoneMatch(String)", response);
+            if (response.status() == HttpStatus.NOT_MODIFIED.value()) {
+                return ConditionalRoster.notModified(etag);
+            }
+            List<Employee> employees;
+            try {
+                employees = rosterDecoder.decodeRoster(response);
+            } catch (IOException ex) {
+                throw new DecodeException(response.status(), ex.getMessage(), response.request(), ex);
+            }
+            String newEtag = header(response, HttpHeaders.ETAG);
+            String epoch = header(response, ROSTER_EPOCH_HEADER);
+            String version = header(response, ROSTER_VERSION_HEADER);
+            RosterVersion upstreamVersion =
+                    epoch != null && version != null ? new RosterVersion(epoch, Long.parseLong(version)) : null;
+            return new ConditionalRoster(
+                    Collections.unmodifiableList(Objects.requireNonNull(employees)), newEtag, upstreamVersion);
+        }
+    }
+
+    /**
+     * Fetches the upstream's changes after {@code since}, or returns empty if the upstream no longer has them and the
+     * roster must be fetched in full.
+     */
+    @Retryable(
+            value = {FeignException.class},
+            maxAttempts = 5,
+            backoff = @Backoff(delay = 200, multiplier = 2))
+    public Optional<EmployeeChanges> fetchChanges(RosterVersion since) {
+        try {
+            Response<EmployeeChanges> resp = employeeApi.fetchChanges(since.epoch(), since.version());
+            return Optional.of(Objects.requireNonNull(resp.getData()));
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode() == HttpStatus.GONE) {
+                return Optional.empty();
+            }
+            throw ex;
+        }
     }
 
     @Retryable(
@@ -61,6 +122,18 @@ public class EmployeeClient {
         throw ex;
     }
 
+    @Recover
+    public ConditionalRoster recoverFetchAllIfChanged(HttpClientErrorException ex, String etag) {
+        handleTooManyRequests(ex);
+        throw ex;
+    }
+
+    @Recover
+    public Optional<EmployeeChanges> recoverFetchChanges(HttpClientErrorException ex, RosterVersion since) {
+        handleTooManyRequests(ex);
+        throw ex;
+    }
+
     @Recover
     public Employee recoverFetchById(HttpClientErrorException ex, String id) {
         handleTooManyRequests(ex);
@@ -73,6 +146,10 @@ public class EmployeeClient {
         throw ex;
     }
 
+    private static String header(feign.Response response, String name) {
+        return response.headers().getOrDefault(name, List.of()).stream().findFirst().orElse(null);
+    }
+
     private void handleTooManyRequests(HttpClientErrorException ex) {
         if (ex.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
             log.warn("Service busy, throwing custom exception...");
@@ -1,8 +1,18 @@
 package com.reliaquest.api.client;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Client;
 import feign.Feign;
+import feign.Request;
+import feign.http2client.Http2Client;
 import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,12 +23,95 @@ public class FeignConfig {
     @Value("${employee.service.url:http://localhost:8112/api/v1/employee}")
     private String baseUrl;
 
+    @Value("${employee.client.limiter.enabled:true}")
+    private boolean limiterEnabled;
+
+    private final ObjectMapper upstreamMapper =
+            new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Bean
+    public RosterDecoder rosterDecoder() {
+        return new RosterDecoder(new JacksonDecoder(upstreamMapper), upstreamMapper);
+    }
+
     @Bean
-    public EmployeeApi employeeApi() {
-        return Feign.builder()
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder())
+    public AdaptiveRateLimiter employeeApiLimiter(
+            @Value("${employee.client.limiter.initial-backoff:PT30S}") Duration initialBackoff,
+            @Value("${employee.client.limiter.max-backoff:PT2M}") Duration maxBackoff,
+            @Value("${employee.client.limiter.max-wait:PT0.5S}") Duration maxWait) {
+        return new AdaptiveRateLimiter(initialBackoff, maxBackoff, maxWait, System::nanoTime);
+    }
+
+    @Bean
+    public UpstreamCircuitBreaker employeeCircuitBreaker(
+            @Value("${employee.client.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${employee.client.circuit-breaker.open-duration:PT30S}") Duration openDuration) {
+        return new UpstreamCircuitBreaker(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    /*
+     * "jdk" sends requests over a shared java.net.http.HttpClient, which keeps connections alive and reuses them across
+     * requests; "default" is Feign's HttpURLConnection client. Either way, at most max-per-route requests are in
+     * flight to one host at a time. The JDK client's pool size and keep-alive are JVM-wide and only read from system
+     * properties when the first client in the JVM starts, so they are set as -Djdk.httpclient.* flags, not here.
+     */
+    @Bean
+    public Client employeeApiTransport(
+            @Value("${employee.client.transport.type:jdk}") String type,
+            @Value("${employee.client.transport.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${employee.client.transport.http-version:HTTP_1_1}") HttpClient.Version httpVersion,
+            @Value("${employee.client.transport.max-per-route:32}") int maxPerRoute) {
+        if ("default".equals(type)) {
+            return new RouteLimitedClient(new Client.Default(null, null), maxPerRoute);
+        }
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(httpVersion)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        return new RouteLimitedClient(new Http2Client(httpClient), maxPerRoute);
+    }
+
+    @Bean
+    public EmployeeApi employeeApi(
+            MeterRegistry meterRegistry,
+            AdaptiveRateLimiter employeeApiLimiter,
+            RosterDecoder rosterDecoder,
+            Client employeeApiTransport,
+            @Value("${employee.client.transport.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${employee.client.transport.read-timeout:PT10S}") Duration readTimeout) {
+        EmployeeApi remote = Feign.builder()
+                .client(employeeApiTransport)
+                .options(new Request.Options(connectTimeout, readTimeout, false))
+                .encoder(new JacksonEncoder(upstreamMapper))
+                .decoder(rosterDecoder)
                 .errorDecoder(new FeignToSpringErrorDecoder())
                 .target(EmployeeApi.class, baseUrl);
+        remote = new MeteredEmployeeApi(remote, meterRegistry);
+        if (limiterEnabled) {
+            remote = new AdmissionControlledEmployeeApi(remote, employeeApiLimiter);
+        }
+        return new CoalescingEmployeeApi(remote, meterRegistry);
+    }
+
+    @Bean
+    public PagedRosterFetcher pagedRosterFetcher(
+            EmployeeApi employeeApi,
+            ExecutorService pagedRosterExecutor,
+            @Value("${employee.client.paging.page-size:1000}") int pageSize,
+            @Value("${employee.client.paging.parallelism:4}") int parallelism) {
+        return new PagedRosterFetcher(employeeApi, pagedRosterExecutor, pageSize, parallelism);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService pagedRosterExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${employee.client.paging.parallelism:4}") int parallelism) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("roster-page-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(
+                parallelism, Thread.ofPlatform().daemon().name("roster-page-", 0).factory());
     }
 }
@@ -7,8 +7,25 @@ import org.springframework.web.client.HttpClientErrorException;
 
 public class FeignToSpringErrorDecoder implements ErrorDecoder {
 
+    private static final FeignToSpringErrorDecoder INSTANCE = new FeignToSpringErrorDecoder();
+
     private final ErrorDecoder defaultDecoder = new Default();
 
+    /**
+     * Throws what the error decoder would have for a raw response that is neither successful nor
+     * {@code 304 Not Modified}; otherwise returns the response.
+     */
+    public static Response raiseForStatus(String methodKey, Response response) {
+        int status = response.status();
+        if ((status >= 200 && status < 300) || status == 304) {
+            return response;
+        }
+        try (response) {
+            Exception ex = INSTANCE.decode(methodKey, response);
+            throw ex instanceof RuntimeException unchecked ? unchecked : new IllegalStateException(ex);
+        }
+    }
+
     @Override
     public Exception decode(String methodKey, Response response) {
         int status = response.status();
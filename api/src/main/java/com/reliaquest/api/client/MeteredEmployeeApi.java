@@ -0,0 +1,134 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.Response;
+import feign.FeignException;
+import feign.codec.DecodeException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetrySynchronizationManager;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Times every upstream call, tagged with the operation, its outcome and which {@link EmployeeClient} retry attempt it
+ * was. It sits directly around the Feign client, so each attempt is timed on its own and calls the rate limiter turns
+ * away are not counted as upstream calls.
+ */
+public class MeteredEmployeeApi implements EmployeeApi {
+
+    public static final String REQUESTS = "employee.client.requests";
+
+    private final EmployeeApi delegate;
+    private final MeterRegistry meterRegistry;
+
+    public MeteredEmployeeApi(EmployeeApi delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<Employee> fetchAll() {
+        return record("fetchAll", delegate::fetchAll);
+    }
+
+    @Override
+    public feign.Response fetchAllIfNoneMatch(String etag) {
+        // Raw responses are timed to the status line; the caller reads the body afterwards.
+        Timer.Sample sample = Timer.start(meterRegistry);
+        feign.Response response;
+        try {
+            response = delegate.fetchAllIfNoneMatch(etag);
+        } catch (RuntimeException ex) {
+            stop(sample, "fetchAllIfNoneMatch", outcome(ex));
+            throw ex;
+        }
+        stop(sample, "fetchAllIfNoneMatch", outcome(response.status()));
+        return response;
+    }
+
+    @Override
+    public Response<EmployeePage> fetchPage(long cursor, long until, int limit) {
+        return record("fetchPage", () -> delegate.fetchPage(cursor, until, limit));
+    }
+
+    @Override
+    public Response<EmployeeChanges> fetchChanges(String epoch, long since) {
+        return record("fetchChanges", () -> delegate.fetchChanges(epoch, since));
+    }
+
+    @Override
+    public Response<Employee> fetchById(String id) {
+        return record("fetchById", () -> delegate.fetchById(id));
+    }
+
+    @Override
+    public Response<Employee> create(Map<String, Object> body) {
+        return record("create", () -> delegate.create(body));
+    }
+
+    @Override
+    public Response<Boolean> deleteByName(Map<String, Object> body) {
+        return record("deleteByName", () -> delegate.deleteByName(body));
+    }
+
+    private <T> T record(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException ex) {
+            stop(sample, operation, outcome(ex));
+            throw ex;
+        }
+        stop(sample, operation, "success");
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder(REQUESTS)
+                .description("Calls to the employee service, one per attempt")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .tag("attempt", attempt())
+                .register(meterRegistry));
+    }
+
+    // Pages are fetched outside of any retry, so they are always a first attempt.
+    private static String attempt() {
+        RetryContext context = RetrySynchronizationManager.getContext();
+        return Integer.toString(context == null ? 1 : context.getRetryCount() + 1);
+    }
+
+    private static String outcome(RuntimeException ex) {
+        if (ex instanceof HttpStatusCodeException statusEx) {
+            return outcome(statusEx.getStatusCode().value());
+        }
+        if (ex instanceof DecodeException) {
+            return "decode_error";
+        }
+        if (ex instanceof FeignException feignEx) {
+            // Feign reports connection failures and timeouts without a status.
+            return feignEx.status() > 0 ? outcome(feignEx.status()) : "io_error";
+        }
+        return "error";
+    }
+
+    private static String outcome(int status) {
+        if (status == 304) {
+            return "not_modified";
+        }
+        if (status >= 200 && status < 300) {
+            return "success";
+        }
+        if (status == 429) {
+            return "throttled";
+        }
+        return status < 500 ? "client_error" : "server_error";
+    }
+}
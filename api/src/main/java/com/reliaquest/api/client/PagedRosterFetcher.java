@@ -0,0 +1,95 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import feign.FeignException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Pulls the roster through the upstream's paged endpoint. The first page reports the newest cursor; the rest of the
+ * cursor space is split into {@code parallelism} ranges that are paged through concurrently. Each page is retried on
+ * its own, so one failed request does not restart the transfer.
+ */
+@Slf4j
+public class PagedRosterFetcher {
+
+    private final EmployeeApi employeeApi;
+    private final Executor executor;
+    private final int pageSize;
+    private final int parallelism;
+
+    private final RetryTemplate pageRetry = RetryTemplate.builder()
+            .maxAttempts(5)
+            .exponentialBackoff(200, 2, 3_200)
+            .retryOn(FeignException.class)
+            .build();
+
+    public PagedRosterFetcher(EmployeeApi employeeApi, Executor executor, int pageSize, int parallelism) {
+        this.employeeApi = employeeApi;
+        this.executor = executor;
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+    }
+
+    public List<Employee> fetchAll() {
+        EmployeePage first = fetchPage(0, Long.MAX_VALUE);
+        List<Employee> roster = new ArrayList<>(first.getEmployees());
+        if (first.getNextCursor() == null) {
+            return Collections.unmodifiableList(roster);
+        }
+        // Employees added after the first page have cursors past lastCursor and wait for the next load.
+        long from = first.getNextCursor();
+        long span = first.getLastCursor() - from;
+        long width = Math.max(1, (span + parallelism - 1) / parallelism);
+        List<CompletableFuture<List<Employee>>> ranges = new ArrayList<>();
+        for (long start = from; start < first.getLastCursor(); start += width) {
+            long end = Math.min(start + width, first.getLastCursor());
+            long rangeStart = start;
+            ranges.add(CompletableFuture.supplyAsync(() -> fetchRange(rangeStart, end), executor));
+        }
+        try {
+            for (CompletableFuture<List<Employee>> range : ranges) {
+                roster.addAll(range.join());
+            }
+        } catch (CompletionException ex) {
+            ranges.forEach(range -> range.cancel(false));
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+        log.debug("Fetched {} employees in {} page ranges", roster.size(), ranges.size());
+        return Collections.unmodifiableList(roster);
+    }
+
+    private List<Employee> fetchRange(long after, long until) {
+        List<Employee> employees = new ArrayList<>();
+        Long cursor = after;
+        while (cursor != null) {
+            EmployeePage page = fetchPage(cursor, until);
+            employees.addAll(page.getEmployees());
+            cursor = page.getNextCursor();
+        }
+        return employees;
+    }
+
+    private EmployeePage fetchPage(long cursor, long until) {
+        try {
+            return pageRetry.execute(context -> Objects.requireNonNull(
+                    employeeApi.fetchPage(cursor, until, pageSize).getData()));
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                throw new TooManyRequestsException("Employee service busy. Try again later.");
+            }
+            throw ex;
+        }
+    }
+}
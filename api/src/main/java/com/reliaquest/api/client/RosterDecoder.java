@@ -0,0 +1,85 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.model.Employee;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the {@code {"data": [...], "status": ...}} roster envelope straight into a {@code List<Employee>}, one
+ * employee at a time off the response stream, so neither the envelope nor an intermediate array is ever built. Every
+ * other return type is handed to the delegate.
+ */
+public class RosterDecoder implements Decoder {
+
+    private final Decoder delegate;
+    private final ObjectMapper mapper;
+    private final JavaType rosterType;
+    private final ObjectReader employeeReader;
+
+    public RosterDecoder(Decoder delegate, ObjectMapper mapper) {
+        this.delegate = delegate;
+        this.mapper = mapper;
+        this.rosterType = mapper.getTypeFactory().constructCollectionType(List.class, Employee.class);
+        this.employeeReader = mapper.readerFor(Employee.class);
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (!rosterType.equals(mapper.getTypeFactory().constructType(type))) {
+            return delegate.decode(response, type);
+        }
+        return decodeRoster(response);
+    }
+
+    public List<Employee> decodeRoster(Response response) throws IOException {
+        if (response.status() == 204 || response.status() == 404 || response.body() == null) {
+            return null;
+        }
+        // Bytes rather than a Reader: Jackson's UTF-8 parser skips the charset decoding step.
+        try (JsonParser parser = mapper.getFactory().createParser(response.body().asInputStream())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new DecodeException(response.status(), "Expected a response envelope", response.request());
+            }
+            List<Employee> employees = null;
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    employees = readEmployees(parser, response);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (token != JsonToken.END_OBJECT) {
+                throw new DecodeException(response.status(), "Malformed response envelope", response.request());
+            }
+            return employees;
+        }
+    }
+
+    // Reads up to the end of the array, so a bad element fails the decode rather than silently ending the roster.
+    private List<Employee> readEmployees(JsonParser parser, Response response) throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                employees.add(employeeReader.readValue(parser));
+            } else if (token != JsonToken.VALUE_NULL) {
+                throw new DecodeException(
+                        response.status(), "Expected an employee but found " + token, response.request());
+            }
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,123 @@
+package com.reliaquest.api.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of concurrent requests, and therefore pooled connections, the wrapped transport opens to any one
+ * host. A request holds its slot until its response body is closed, since the connection is busy until then, and waits
+ * at most the connect timeout for one.
+ */
+public class RouteLimitedClient implements Client {
+
+    private final Client delegate;
+    private final int maxPerRoute;
+    private final ConcurrentHashMap<String, Semaphore> routes = new ConcurrentHashMap<>();
+
+    public RouteLimitedClient(Client delegate, int maxPerRoute) {
+        this.delegate = delegate;
+        this.maxPerRoute = maxPerRoute;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Semaphore route = routes.computeIfAbsent(route(request.url()), ignored -> new Semaphore(maxPerRoute, true));
+        try {
+            if (!route.tryAcquire(options.connectTimeout(), options.connectTimeoutUnit())) {
+                throw new SocketTimeoutException("Timed out waiting for a connection to " + request.url());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a connection to " + request.url());
+        }
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (Throwable ex) {
+            route.release();
+            throw ex;
+        }
+        if (response.body() == null) {
+            route.release();
+            return response;
+        }
+        return response.toBuilder()
+                .body(new ReleasingBody(response.body(), route))
+                .build();
+    }
+
+    private static String route(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+
+    /** Releases the route's slot, once, when either the body or a stream read from it is closed. */
+    private static final class ReleasingBody implements Response.Body {
+
+        private final Response.Body body;
+        private final Semaphore route;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleasingBody(Response.Body body, Semaphore route) {
+            this.body = body;
+            this.route = route;
+        }
+
+        @Override
+        public Integer length() {
+            return body.length();
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return body.isRepeatable();
+        }
+
+        @Override
+        public InputStream asInputStream() throws IOException {
+            return new FilterInputStream(body.asInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        release();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public Reader asReader(Charset charset) throws IOException {
+            return new InputStreamReader(asInputStream(), charset);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                body.close();
+            } finally {
+                release();
+            }
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                route.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Circuit breaker around calls to {@link EmployeeClient}. After {@code failureThreshold} consecutive failures it opens
+ * and rejects every call with {@link TooManyRequestsException} for {@code openDuration}, instead of letting each one
+ * sit through the client's retries. The first call after that is let through alone as a probe: success closes the
+ * circuit, failure opens it again.
+ */
+@Slf4j
+public class UpstreamCircuitBreaker implements MeterBinder {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private final AtomicReference<Status> status = new AtomicReference<>(new Status(State.CLOSED, 0, 0));
+
+    public UpstreamCircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.clock = clock;
+    }
+
+    public <T> T call(Supplier<T> upstreamCall) {
+        acquirePermission();
+        try {
+            T result = upstreamCall.get();
+            onSuccess();
+            return result;
+        } catch (Throwable ex) {
+            // Errors count as failures too; an unrecorded probe would leave the circuit half-open for good.
+            if (countsAsFailure(ex)) {
+                onFailure();
+            } else {
+                onSuccess();
+            }
+            throw ex;
+        }
+    }
+
+    public State getState() {
+        return status.get().state();
+    }
+
+    private void acquirePermission() {
+        while (true) {
+            Status current = status.get();
+            switch (current.state()) {
+                case CLOSED:
+                    return;
+                case HALF_OPEN:
+                    throw rejected();
+                case OPEN:
+                    if (current.openUntil() - clock.getAsLong() > 0) {
+                        throw rejected();
+                    }
+                    if (status.compareAndSet(current, new Status(State.HALF_OPEN, current.failures(), 0))) {
+                        log.info("Employee service circuit half-open, probing with one request");
+                        return;
+                    }
+            }
+        }
+    }
+
+    private void onSuccess() {
+        Status previous = status.getAndUpdate(
+                current -> current.state() == State.CLOSED && current.failures() == 0
+                        ? current
+                        : new Status(State.CLOSED, 0, 0));
+        if (previous.state() != State.CLOSED) {
+            log.info("Employee service circuit closed");
+        }
+    }
+
+    private void onFailure() {
+        long now = clock.getAsLong();
+        Status previous = status.getAndUpdate(current -> {
+            if (current.state() == State.OPEN) {
+                return current;
+            }
+            int failures = current.failures() + 1;
+            if (current.state() == State.HALF_OPEN || failures >= failureThreshold) {
+                return new Status(State.OPEN, failures, now + openNanos);
+            }
+            return new Status(State.CLOSED, failures, 0);
+        });
+        if (previous.state() != State.OPEN && status.get().state() == State.OPEN) {
+            log.warn("Employee service circuit opened after {} consecutive failures", previous.failures() + 1);
+        }
+    }
+
+    private static boolean countsAsFailure(Throwable ex) {
+        if (ex instanceof EmployeeNotFoundException) {
+            return false;
+        }
+        return !(ex instanceof HttpClientErrorException clientError)
+                || clientError.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+    }
+
+    private static TooManyRequestsException rejected() {
+        return new TooManyRequestsException("Employee service unavailable. Try again later.");
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.client.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("Employee service circuit state: 0 closed, 1 open, 2 half-open")
+                .register(registry);
+    }
+
+    private record Status(State state, int failures, long openUntil) {}
+}
@@ -1,7 +1,19 @@
 package com.reliaquest.api.config;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.RosterLoader;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
@@ -10,24 +22,102 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class CacheConfig {
 
+    public static final String ROSTER_CACHE = "employeesAll";
+    public static final String EMPLOYEE_BY_ID_CACHE = "employeeById";
+    public static final String EMPLOYEE_NOT_FOUND_CACHE = "employeeNotFound";
+    public static final String EMPLOYEE_SEARCH_CACHE = "employeeSearch";
+
     @Bean
     public Caffeine<Object, Object> caffeineSpec() {
         return Caffeine.newBuilder()
                 .initialCapacity(100)
                 .maximumSize(10_000)
-                .expireAfterWrite(5, TimeUnit.MINUTES);
+                .expireAfterWrite(5, TimeUnit.MINUTES)
+                .recordStats();
+    }
+
+    /*
+     * The roster is held as a single immutable snapshot; search, highest salary and top ten are all answered from it
+     * rather than from caches of their own. Once the snapshot is older than refresh-after, the next read triggers a
+     * background reload and keeps getting the current snapshot until it lands. A failed reload leaves the old
+     * snapshot in place, so callers only ever block on the upstream for the first load, or once max-staleness has
+     * passed without a successful reload.
+     */
+    @Bean
+    public AsyncLoadingCache<String, RosterSnapshot> rosterCache(
+            RosterLoader loader,
+            ExecutorService rosterRefreshExecutor,
+            @Value("${employee.roster.refresh-after:PT1M}") Duration refreshAfter,
+            @Value("${employee.roster.max-staleness:PT10M}") Duration maxStaleness) {
+        return Caffeine.newBuilder()
+                .maximumSize(1)
+                .executor(rosterRefreshExecutor)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(maxStaleness)
+                .recordStats()
+                .buildAsync(loader);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService rosterRefreshExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("roster-refresh-", 0).factory());
+        }
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "roster-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /*
+     * Ids the upstream reported as missing, so a scan of bad ids is not passed straight through to it. Kept small and
+     * short-lived since a later create can make the id valid.
+     */
+    @Bean
+    public Cache<String, Boolean> employeeNotFoundCache(
+            @Value("${employee.negative-cache.max-size:10000}") long maxSize,
+            @Value("${employee.negative-cache.ttl:PT30S}") Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /*
+     * Name search results, keyed by snapshot version and folded fragment, so a write or reload is never answered from
+     * an older roster and queries differing only in case share an entry. Fragments are arbitrary input and a short
+     * one can match most of the roster, so the cache is bounded by the employees it holds rather than by entries.
+     */
+    @Bean
+    public Cache<EmployeeService.NameSearch, List<Employee>> employeeSearchCache(
+            @Value("${employee.search-cache.max-results:1000000}") long maxResults) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxResults)
+                .<EmployeeService.NameSearch, List<Employee>>weigher((search, results) -> results.size() + 1)
+                .recordStats()
+                .build();
     }
 
+    /*
+     * Every cache records stats, and every cache registered here is bound to the meter registry by Spring Boot at
+     * startup as the cache.gets, cache.puts, cache.evictions and cache.load.duration meters, tagged with its name.
+     */
     @Bean
-    public CacheManager cacheManager(Caffeine<Object, Object> caffeine) {
-        CaffeineCacheManager mgr = new CaffeineCacheManager(
-                "employeesAll",
-                "employeeById",
-                "searchByName",
-                "highestSalary",
-                "topTenNamesBySalary"
-        );
+    @SuppressWarnings("unchecked")
+    public CacheManager cacheManager(
+            Caffeine<Object, Object> caffeine,
+            AsyncLoadingCache<String, RosterSnapshot> rosterCache,
+            Cache<String, Boolean> employeeNotFoundCache,
+            Cache<EmployeeService.NameSearch, List<Employee>> employeeSearchCache) {
+        CaffeineCacheManager mgr = new CaffeineCacheManager(EMPLOYEE_BY_ID_CACHE);
         mgr.setCaffeine(caffeine);
+        mgr.registerCustomCache(ROSTER_CACHE, (AsyncCache<Object, Object>) (AsyncCache<?, ?>) rosterCache);
+        mgr.registerCustomCache(EMPLOYEE_NOT_FOUND_CACHE, (Cache<Object, Object>) (Cache<?, ?>) employeeNotFoundCache);
+        mgr.registerCustomCache(EMPLOYEE_SEARCH_CACHE, (Cache<Object, Object>) (Cache<?, ?>) employeeSearchCache);
         return mgr;
     }
 }
@@ -1,24 +1,40 @@
 package com.reliaquest.api.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.EmployeeService;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 public class EmployeeController implements IEmployeeController<Employee, CreateEmployeeInput> {
 
     private static final Logger log = LoggerFactory.getLogger(EmployeeController.class);
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int FLUSH_EVERY = 1_000;
+    private static final int MAX_TOP = 10_000;
+
     private final EmployeeService svc;
+    private final ObjectMapper objectMapper;
 
-    public EmployeeController(EmployeeService svc) {
+    public EmployeeController(EmployeeService svc, ObjectMapper objectMapper) {
         this.svc = svc;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -28,6 +44,46 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         return ResponseEntity.ok(svc.fetchAll());
     }
 
+    /*
+     * Writes the roster one employee at a time straight from the cached snapshot, as NDJSON or, with format=array, a
+     * chunked JSON array, so memory use does not grow with roster size. Writes block while the client is slow to read,
+     * which is the only buffering there is.
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        log.info("streamAllEmployees called: {}", format);
+        List<Employee> employees = svc.fetchAll();
+        boolean array = "array".equalsIgnoreCase(format);
+        ObjectWriter writer =
+                objectMapper.writerFor(Employee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                generator.setRootValueSeparator(null);
+                if (array) {
+                    generator.writeStartArray();
+                }
+                int written = 0;
+                for (Employee employee : employees) {
+                    writer.writeValue(generator, employee);
+                    if (!array) {
+                        generator.writeRaw('\n');
+                    }
+                    if (++written % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                }
+                if (array) {
+                    generator.writeEndArray();
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(array ? MediaType.APPLICATION_JSON : NDJSON)
+                .body(body);
+    }
+
     @Override
     @GetMapping("/search/{name}")
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String name) {
@@ -56,6 +112,31 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         return ResponseEntity.ok(svc.topTenNamesBySalary());
     }
 
+    /*
+     * Salary queries beyond the interface's highest salary and top ten, all answered from the snapshot's salary-sorted
+     * column: top earners by slicing it, range counts by binary search, and percentiles by indexing into it.
+     */
+    @GetMapping("/salary/top")
+    public ResponseEntity<List<Employee>> getHighestEarningEmployees(
+            @RequestParam(defaultValue = "10") @Min(0) @Max(MAX_TOP) int limit) {
+        log.info("getHighestEarningEmployees called: {}", limit);
+        return ResponseEntity.ok(svc.topBySalary(limit));
+    }
+
+    @GetMapping("/salary/count")
+    public ResponseEntity<Integer> getEmployeeCountBySalary(
+            @RequestParam(defaultValue = "0") int min, @RequestParam(required = false) Integer max) {
+        log.info("getEmployeeCountBySalary called: {} to {}", min, max);
+        return ResponseEntity.ok(svc.countBySalary(min, max != null ? max : Integer.MAX_VALUE));
+    }
+
+    @GetMapping("/salary/percentile/{percentile}")
+    public ResponseEntity<Integer> getSalaryPercentile(
+            @PathVariable @DecimalMin("0") @DecimalMax("100") double percentile) {
+        log.info("getSalaryPercentile called: {}", percentile);
+        return ResponseEntity.ok(svc.salaryPercentile(percentile));
+    }
+
     @Override
     @PostMapping
     public ResponseEntity<Employee> createEmployee(@Validated @RequestBody CreateEmployeeInput employeeInput) {
@@ -1,5 +1,7 @@
 package com.reliaquest.api.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,11 +10,20 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final Counter busy;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.busy = Counter.builder("employee.api.busy")
+                .description("Requests answered 503 because the employee service was throttling or unavailable")
+                .register(meterRegistry);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidation(MethodArgumentNotValidException ex) {
         String details = ex.getBindingResult().getFieldErrors().stream()
@@ -22,8 +33,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ApiError> handleParameterValidation(HandlerMethodValidationException ex) {
+        String details = ex.getAllValidationResults().stream()
+                .flatMap(result -> result.getResolvableErrors().stream()
+                        .map(err -> result.getMethodParameter().getParameterName() + ": " + err.getDefaultMessage()))
+                .collect(Collectors.joining(", "));
+        ApiError error = new ApiError(HttpStatus.BAD_REQUEST.value(), "Validation failed", details);
+        return ResponseEntity.badRequest().body(error);
+    }
+
     @ExceptionHandler(TooManyRequestsException.class)
     public ResponseEntity<ApiError> handleTooManyRequests(TooManyRequestsException ex) {
+        busy.increment();
         ApiError error = new ApiError(HttpStatus.SERVICE_UNAVAILABLE.value(), "External service busy", ex.getMessage());
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
     }
@@ -0,0 +1,19 @@
+package com.reliaquest.api.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class EmployeeChange {
+    private long version;
+
+    private Operation operation;
+
+    private Employee employee;
+
+    public enum Operation {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class EmployeeChanges {
+    private String epoch;
+
+    private long version;
+
+    private List<EmployeeChange> changes;
+}
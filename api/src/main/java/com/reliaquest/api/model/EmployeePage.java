@@ -0,0 +1,18 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class EmployeePage {
+    private List<Employee> employees;
+
+    @JsonProperty("next_cursor")
+    private Long nextCursor;
+
+    @JsonProperty("last_cursor")
+    private long lastCursor;
+}
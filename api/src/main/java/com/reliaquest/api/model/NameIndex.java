@@ -0,0 +1,217 @@
+package com.reliaquest.api.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Trigram index over a snapshot's folded names. Each trigram maps to the ascending roster positions of the names that
+ * contain it, so a query of three or more characters only checks the names on its rarest trigram's postings instead
+ * of every name. Shorter queries match too much of the roster for an index to help and are scanned.
+ *
+ * <p>An index is built for one snapshot and carried over by the writes that follow rather than rebuilt on each one:
+ * removed positions are recorded and skipped, and names appended since the build are scanned. Once those add up to
+ * more than a small fraction of the roster, {@link #orRebuiltFor} builds a fresh index.
+ */
+final class NameIndex {
+
+    private static final int GRAM = 3;
+    private static final int MIN_REBUILD_THRESHOLD = 1_024;
+
+    // Open-addressing table from packed trigram to its run of postings; a zero key marks an empty slot.
+    private final long[] keys;
+    private final int[] starts;
+    private final int[] counts;
+    private final int[] postings;
+
+    // Names the index was built over, and the positions among them removed since, ascending.
+    private final int indexed;
+    private final int[] removed;
+
+    private NameIndex(long[] keys, int[] starts, int[] counts, int[] postings, int indexed, int[] removed) {
+        this.keys = keys;
+        this.starts = starts;
+        this.counts = counts;
+        this.postings = postings;
+        this.indexed = indexed;
+        this.removed = removed;
+    }
+
+    /**
+     * Builds the index over {@code names}, which are already folded and may contain nulls.
+     */
+    static NameIndex build(String[] names) {
+        // First pass counts the names holding each trigram, so the postings can be laid out in one array.
+        Table table = new Table();
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            for (int j = 0; name != null && j + GRAM <= name.length(); j++) {
+                int slot = table.insert(pack(name, j));
+                // Marks stop a trigram repeated within one name from being counted twice.
+                if (table.marks[slot] != i + 1) {
+                    table.marks[slot] = i + 1;
+                    table.counts[slot]++;
+                }
+            }
+        }
+        long[] keys = table.keys;
+        int[] counts = table.counts;
+        int[] marks = table.marks;
+        int[] starts = new int[keys.length];
+        int total = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            starts[slot] = total;
+            total += counts[slot];
+        }
+        int[] postings = new int[total];
+        int[] filled = new int[keys.length];
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            for (int j = 0; name != null && j + GRAM <= name.length(); j++) {
+                int slot = find(keys, pack(name, j));
+                if (marks[slot] != -(i + 1)) {
+                    marks[slot] = -(i + 1);
+                    postings[starts[slot] + filled[slot]++] = i;
+                }
+            }
+        }
+        return new NameIndex(keys, starts, counts, postings, names.length, new int[0]);
+    }
+
+    /**
+     * Returns the employees whose folded name contains {@code folded}, in roster order. {@code names} and
+     * {@code employees} are the snapshot's current ones, which this index has been kept in step with.
+     */
+    List<Employee> search(String folded, String[] names, List<Employee> employees) {
+        List<Employee> results = new ArrayList<>();
+        int live = indexed - removed.length;
+        if (folded.length() < GRAM) {
+            scan(folded, names, employees, 0, names.length, results);
+            return results;
+        }
+        int rarest = -1;
+        for (int j = 0; j + GRAM <= folded.length(); j++) {
+            int slot = find(keys, pack(folded, j));
+            if (keys[slot] == 0) {
+                // No indexed name has this trigram, so only appended names can match.
+                rarest = -1;
+                break;
+            }
+            if (rarest < 0 || counts[slot] < counts[rarest]) {
+                rarest = slot;
+            }
+        }
+        if (rarest >= 0) {
+            for (int k = starts[rarest], end = k + counts[rarest]; k < end; k++) {
+                int position = postings[k];
+                int shift = 0;
+                if (removed.length > 0) {
+                    int at = Arrays.binarySearch(removed, position);
+                    if (at >= 0) {
+                        continue;
+                    }
+                    shift = -at - 1;
+                }
+                int current = position - shift;
+                if (names[current].contains(folded)) {
+                    results.add(employees.get(current));
+                }
+            }
+        }
+        scan(folded, names, employees, live, names.length, results);
+        return results;
+    }
+
+    /**
+     * Returns the index with the name at roster position {@code position} removed.
+     */
+    NameIndex withRemoved(int position) {
+        if (position >= indexed - removed.length) {
+            return this;
+        }
+        // The position-th indexed name that has not already been removed.
+        int built = position;
+        int at = 0;
+        while (at < removed.length && removed[at] <= built) {
+            built++;
+            at++;
+        }
+        int[] next = new int[removed.length + 1];
+        System.arraycopy(removed, 0, next, 0, at);
+        next[at] = built;
+        System.arraycopy(removed, at, next, at + 1, removed.length - at);
+        return new NameIndex(keys, starts, counts, postings, indexed, next);
+    }
+
+    /**
+     * Returns this index, or a new one built over {@code names} once too many of them are scanned or skipped.
+     */
+    NameIndex orRebuiltFor(String[] names) {
+        int appended = names.length - (indexed - removed.length);
+        if (appended + removed.length <= Math.max(MIN_REBUILD_THRESHOLD, indexed >> 6)) {
+            return this;
+        }
+        return build(names);
+    }
+
+    private static void scan(
+            String folded, String[] names, List<Employee> employees, int from, int to, List<Employee> results) {
+        for (int i = from; i < to; i++) {
+            if (names[i] != null && names[i].contains(folded)) {
+                results.add(employees.get(i));
+            }
+        }
+    }
+
+    // Three UTF-16 chars in the low 48 bits, with a marker bit above them so that no key is zero.
+    private static long pack(String s, int at) {
+        return 1L << 48 | (long) s.charAt(at) << 32 | (long) s.charAt(at + 1) << 16 | s.charAt(at + 2);
+    }
+
+    private static int find(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /** The trigram table while it is being built, grown to stay at most half full. */
+    private static final class Table {
+
+        long[] keys = new long[1 << 10];
+        int[] counts = new int[1 << 10];
+        int[] marks = new int[1 << 10];
+        int size;
+
+        int insert(long key) {
+            if (size * 2 >= keys.length) {
+                grow();
+            }
+            int slot = find(keys, key);
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                size++;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            int[] oldMarks = marks;
+            keys = new long[oldKeys.length * 2];
+            counts = new int[keys.length];
+            marks = new int[keys.length];
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != 0) {
+                    int moved = find(keys, oldKeys[slot]);
+                    keys[moved] = oldKeys[slot];
+                    counts[moved] = oldCounts[slot];
+                    marks[moved] = oldMarks[slot];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.reliaquest.api.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Immutable view of the upstream roster as of one fetch. Every derived index is built once, up front, so all answers
+ * read from the same snapshot agree with each other. Local writes produce a new snapshot through {@link #withAdded}
+ * and {@link #withRemoved}, and upstream changes through {@link #withChanges}, rather than a refetch.
+ */
+public final class RosterSnapshot {
+
+    @Getter
+    private final long version;
+
+    @Getter
+    private final Instant loadedAt;
+
+    // Upstream ETag of the roster this snapshot was built from, or null if the upstream sent none.
+    @Getter
+    private final String etag;
+
+    // Upstream change version this snapshot is current as of, or null if unknown; changes are fetched from here.
+    @Getter
+    private final RosterVersion upstreamVersion;
+
+    @Getter
+    private final List<Employee> employees;
+
+    private final Map<String, Employee> byId;
+
+    // Parallel to employees; null where the employee has no name.
+    private final String[] foldedNames;
+
+    private final NameIndex nameIndex;
+
+    // Indexes into employees ordered by salary descending (ties keep roster order), and the matching salaries.
+    private final int[] salaryOrder;
+    private final int[] salaries;
+
+    private RosterSnapshot(
+            long version,
+            Instant loadedAt,
+            String etag,
+            RosterVersion upstreamVersion,
+            List<Employee> employees,
+            Map<String, Employee> byId,
+            String[] foldedNames,
+            NameIndex nameIndex,
+            int[] salaryOrder,
+            int[] salaries) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.etag = etag;
+        this.upstreamVersion = upstreamVersion;
+        this.employees = employees;
+        this.byId = byId;
+        this.foldedNames = foldedNames;
+        this.nameIndex = nameIndex;
+        this.salaryOrder = salaryOrder;
+        this.salaries = salaries;
+    }
+
+    public static RosterSnapshot of(long version, List<Employee> employees) {
+        return of(version, employees, null);
+    }
+
+    public static RosterSnapshot of(long version, List<Employee> employees, String etag) {
+        return of(version, employees, etag, null);
+    }
+
+    public static RosterSnapshot of(
+            long version, List<Employee> employees, String etag, RosterVersion upstreamVersion) {
+        return build(version, List.copyOf(employees), etag, upstreamVersion);
+    }
+
+    /**
+     * Like {@link #of}, but takes {@code employees} over instead of copying it, which spares a second roster-sized
+     * array while a freshly fetched roster is indexed. Only for a list nothing else will change afterwards.
+     */
+    public static RosterSnapshot ofOwned(
+            long version, List<Employee> employees, String etag, RosterVersion upstreamVersion) {
+        return build(version, Collections.unmodifiableList(employees), etag, upstreamVersion);
+    }
+
+    // roster is read-only and owned by the snapshot from here on.
+    private static RosterSnapshot build(
+            long version, List<Employee> roster, String etag, RosterVersion upstreamVersion) {
+        int size = roster.size();
+        Map<String, Employee> byId = new HashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+        String[] foldedNames = new String[size];
+        long[] keys = new long[size];
+        int salaried = 0;
+        for (int i = 0; i < size; i++) {
+            Employee employee = roster.get(i);
+            if (employee.getId() != null) {
+                byId.put(employee.getId(), employee);
+            }
+            if (employee.getEmployeeName() != null) {
+                foldedNames[i] = fold(employee.getEmployeeName());
+            }
+            if (employee.getEmployeeSalary() != null) {
+                // Negated salary in the high word, roster position in the low word: ascending order of the key is
+                // salary descending with ties broken by position, without boxing or a comparator.
+                keys[salaried++] = (-(long) employee.getEmployeeSalary() << 32) | i;
+            }
+        }
+        Arrays.sort(keys, 0, salaried);
+        int[] salaryOrder = new int[salaried];
+        int[] salaries = new int[salaried];
+        for (int i = 0; i < salaried; i++) {
+            salaryOrder[i] = (int) keys[i];
+            salaries[i] = (int) -(keys[i] >> 32);
+        }
+        return new RosterSnapshot(
+                version,
+                Instant.now(),
+                etag,
+                upstreamVersion,
+                roster,
+                byId,
+                foldedNames,
+                NameIndex.build(foldedNames),
+                salaryOrder,
+                salaries);
+    }
+
+    /**
+     * Returns this snapshot marked as loaded now, for when the upstream confirms it has not changed.
+     */
+    public RosterSnapshot revalidated() {
+        return new RosterSnapshot(
+                version,
+                Instant.now(),
+                etag,
+                upstreamVersion,
+                employees,
+                byId,
+                foldedNames,
+                nameIndex,
+                salaryOrder,
+                salaries);
+    }
+
+    /**
+     * Returns a snapshot with the employee appended, replacing any existing entry with the same id.
+     */
+    public RosterSnapshot withAdded(long newVersion, Employee employee) {
+        if (employee.getId() != null && byId.containsKey(employee.getId())) {
+            return withRemoved(newVersion, employee.getId()).withAdded(newVersion, employee);
+        }
+        int position = employees.size();
+        List<Employee> roster = new ArrayList<>(position + 1);
+        roster.addAll(employees);
+        roster.add(employee);
+
+        Map<String, Employee> ids = new HashMap<>(byId);
+        if (employee.getId() != null) {
+            ids.put(employee.getId(), employee);
+        }
+
+        String[] names = Arrays.copyOf(foldedNames, position + 1);
+        names[position] = employee.getEmployeeName() == null ? null : fold(employee.getEmployeeName());
+
+        int[] order = salaryOrder;
+        int[] column = salaries;
+        if (employee.getEmployeeSalary() != null) {
+            int salary = employee.getEmployeeSalary();
+            // The new employee is last in roster order, so it goes after every equal salary.
+            int at = countAtLeast(salary);
+            order = insert(salaryOrder, at, position);
+            column = insert(salaries, at, salary);
+        }
+        return new RosterSnapshot(
+                newVersion,
+                loadedAt,
+                etag,
+                upstreamVersion,
+                Collections.unmodifiableList(roster),
+                ids,
+                names,
+                nameIndex.orRebuiltFor(names),
+                order,
+                column);
+    }
+
+    /**
+     * Returns a snapshot without the employee with the given id, or this snapshot if it holds no such employee.
+     */
+    public RosterSnapshot withRemoved(long newVersion, String id) {
+        Employee removed = findById(id);
+        if (removed == null) {
+            return this;
+        }
+        int position = employees.indexOf(removed);
+        List<Employee> roster = new ArrayList<>(employees.size() - 1);
+        roster.addAll(employees.subList(0, position));
+        roster.addAll(employees.subList(position + 1, employees.size()));
+
+        Map<String, Employee> ids = new HashMap<>(byId);
+        ids.remove(id);
+
+        String[] names = new String[foldedNames.length - 1];
+        System.arraycopy(foldedNames, 0, names, 0, position);
+        System.arraycopy(foldedNames, position + 1, names, position, names.length - position);
+
+        int kept = removed.getEmployeeSalary() == null ? salaryOrder.length : salaryOrder.length - 1;
+        int[] order = new int[kept];
+        int[] column = new int[kept];
+        int next = 0;
+        for (int i = 0; i < salaryOrder.length; i++) {
+            int index = salaryOrder[i];
+            if (index != position) {
+                order[next] = index > position ? index - 1 : index;
+                column[next++] = salaries[i];
+            }
+        }
+        return new RosterSnapshot(
+                newVersion,
+                loadedAt,
+                etag,
+                upstreamVersion,
+                Collections.unmodifiableList(roster),
+                ids,
+                names,
+                nameIndex.withRemoved(position).orRebuiltFor(names),
+                order,
+                column);
+    }
+
+    /**
+     * Returns a snapshot with the upstream's changes applied in order, current as of {@code upstreamVersion}. A
+     * replaced employee keeps its place in the roster; a change this snapshot already reflects, such as one of its own
+     * local writes, applies as a no-op. The upstream's ETag for the result is unknown, so it has none.
+     */
+    public RosterSnapshot withChanges(long newVersion, List<EmployeeChange> changes, RosterVersion upstreamVersion) {
+        // Latest state per id in change order; null marks a deletion.
+        Map<String, Employee> latest = new LinkedHashMap<>();
+        for (EmployeeChange change : changes) {
+            String id = change.getEmployee().getId();
+            latest.remove(id);
+            latest.put(id, change.getOperation() == EmployeeChange.Operation.DELETED ? null : change.getEmployee());
+        }
+        List<Employee> roster = new ArrayList<>(employees.size() + latest.size());
+        for (Employee employee : employees) {
+            if (employee.getId() == null || !latest.containsKey(employee.getId())) {
+                roster.add(employee);
+            } else {
+                Employee replacement = latest.remove(employee.getId());
+                if (replacement != null) {
+                    roster.add(replacement);
+                }
+            }
+        }
+        for (Employee created : latest.values()) {
+            if (created != null) {
+                roster.add(created);
+            }
+        }
+        return build(newVersion, Collections.unmodifiableList(roster), null, upstreamVersion);
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public int getMaxSalary() {
+        return salaries.length == 0 ? 0 : salaries[0];
+    }
+
+    public Employee findById(String id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    /**
+     * Returns the employees whose name contains {@code fragment}, ignoring case, in roster order.
+     */
+    public List<Employee> searchByName(String fragment) {
+        String folded = fragment == null ? "" : fold(fragment);
+        return Collections.unmodifiableList(nameIndex.search(folded, foldedNames, employees));
+    }
+
+    /**
+     * Returns the {@code limit} highest paid employees, highest first, with ties in roster order.
+     */
+    public List<Employee> topBySalary(int limit) {
+        int count = Math.min(limit, salaryOrder.length);
+        Employee[] top = new Employee[count];
+        for (int i = 0; i < count; i++) {
+            top[i] = employees.get(salaryOrder[i]);
+        }
+        return List.of(top);
+    }
+
+    /**
+     * Returns how many employees are paid at least {@code min} and at most {@code max}.
+     */
+    public int countBySalary(int min, int max) {
+        return min > max ? 0 : countAtLeast(min) - countAtLeast((long) max + 1);
+    }
+
+    /**
+     * Returns the salary at {@code percentile}, from 0 to 100, by the nearest-rank method: the lowest salary that at
+     * least that percentage of salaried employees are paid no more than. Zero if no employee has a salary.
+     */
+    public int salaryPercentile(double percentile) {
+        int n = salaries.length;
+        if (n == 0) {
+            return 0;
+        }
+        int rank = Math.max(1, (int) Math.ceil(percentile / 100 * n));
+        return salaries[n - Math.min(rank, n)];
+    }
+
+    public List<String> topNamesBySalary(int limit) {
+        int count = Math.min(limit, salaryOrder.length);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = employees.get(salaryOrder[i]).getEmployeeName();
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    public static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    // Salaries are held highest first, so this is also the index of the first salary below the given one.
+    private int countAtLeast(long salary) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] >= salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] insert(int[] values, int at, int value) {
+        int[] result = new int[values.length + 1];
+        System.arraycopy(values, 0, result, 0, at);
+        result[at] = value;
+        System.arraycopy(values, at, result, at + 1, values.length - at);
+        return result;
+    }
+}
@@ -0,0 +1,13 @@
+package com.reliaquest.api.model;
+
+/**
+ * Where a roster stands in the upstream's change history: the upstream store's epoch, which changes whenever it
+ * restarts, and its version within that epoch.
+ */
+public record RosterVersion(String epoch, long version) {
+
+    @Override
+    public String toString() {
+        return epoch + ":" + version;
+    }
+}
@@ -1,18 +1,34 @@
 package com.reliaquest.api.service;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.client.UpstreamCircuitBreaker;
+import com.reliaquest.api.config.CacheConfig;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.TooManyRequestsException;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.RosterSnapshot;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 
@@ -23,21 +39,173 @@ public class EmployeeService {
 
     private final EmployeeClient client;
 
-    @Cacheable(value = "employeesAll")
+    private final AsyncLoadingCache<String, RosterSnapshot> rosterCache;
+
+    private final RosterLoader rosterLoader;
+
+    private final Cache<String, Boolean> employeeNotFoundCache;
+
+    private final Cache<NameSearch, List<Employee>> employeeSearchCache;
+
+    private final CacheManager cacheManager;
+
+    private final UpstreamCircuitBreaker circuitBreaker;
+
+    // Last snapshot handed out, served with a staleness marker when the upstream cannot be reached.
+    private volatile RosterSnapshot lastGoodRoster;
+
+    // Local writes since the last reconcile, by sequence, for it to replay onto the reloaded snapshot.
+    private final ConcurrentSkipListMap<Long, UnaryOperator<RosterSnapshot>> localWrites =
+            new ConcurrentSkipListMap<>();
+    private final AtomicLong localWriteSequence = new AtomicLong();
+    // Bumped whenever the journal is dropped instead of replayed, so a reconcile running across it backs off.
+    private final AtomicLong localWritesDropped = new AtomicLong();
+
+    @Value("${employee.roster.max-local-writes:10000}")
+    private int maxLocalWrites;
+
+    @Value("${employee.roster.id-lookup-max-age:PT2M}")
+    private Duration idLookupMaxAge;
+
+    @Value("${employee.roster.warm-up:false}")
+    private boolean warmUp;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpRoster() {
+        if (!warmUp) {
+            return;
+        }
+        log.debug("Warming up roster snapshot in the background");
+        rosterCache.get(RosterLoader.KEY).whenComplete((snapshot, ex) -> {
+            if (ex != null) {
+                log.warn("Roster warm-up failed, first read will load it -> {}", ex.getMessage());
+            }
+        });
+    }
+
+    /*
+     * Local writes replace the cached snapshot and reset its write time, and Caffeine drops a refresh whose entry
+     * changed while it was in flight, so under a steady stream of writes neither refresh-after nor max-staleness would
+     * ever pick up changes made upstream by anyone else. This reloads the snapshot every interval outside the cache
+     * and installs the result itself, replaying the local writes made while the reload was running on top of it.
+     */
+    @Scheduled(
+            initialDelayString = "${employee.roster.reconcile-interval:PT5M}",
+            fixedDelayString = "${employee.roster.reconcile-interval:PT5M}")
+    public void reconcileRoster() {
+        RosterSnapshot current = rosterCache.synchronous().getIfPresent(RosterLoader.KEY);
+        if (current == null) {
+            // The next load fetches the roster in full, which reflects every write so far.
+            localWrites.headMap(localWriteSequence.get(), true).clear();
+            return;
+        }
+        log.debug("Reconciling roster snapshot with remote service");
+        // Every write journaled up to here reached the upstream before the reload starts, so the reload reflects it.
+        long reflected = localWriteSequence.get();
+        long dropped = localWritesDropped.get();
+        RosterSnapshot reloaded;
+        try {
+            reloaded = rosterLoader.reload(RosterLoader.KEY, current);
+        } catch (RuntimeException ex) {
+            log.warn("Roster reconcile failed, keeping version={} -> {}", current.getVersion(), ex.getMessage());
+            return;
+        }
+        RosterSnapshot installed = rosterCache.synchronous().asMap().compute(RosterLoader.KEY, (key, cached) -> {
+            if (localWritesDropped.get() != dropped) {
+                // The writes to replay are gone and the entry was invalidated; whatever loads next is complete.
+                return cached;
+            }
+            RosterSnapshot snapshot = reloaded;
+            // Writes made during the reload may or may not be in it; replaying them is idempotent either way.
+            for (UnaryOperator<RosterSnapshot> write : localWrites.tailMap(reflected, false).values()) {
+                snapshot = write.apply(snapshot);
+            }
+            return snapshot;
+        });
+        if (localWritesDropped.get() != dropped) {
+            log.info("Roster reconcile abandoned, local writes were dropped while it ran");
+            return;
+        }
+        localWrites.headMap(reflected, true).clear();
+        lastGoodRoster = installed;
+        log.info("Reconciled roster snapshot version={} -> version={}", current.getVersion(), installed.getVersion());
+    }
+
+    public RosterSnapshot snapshot() {
+        try {
+            RosterSnapshot snapshot = rosterCache.synchronous().get(RosterLoader.KEY);
+            lastGoodRoster = snapshot;
+            return snapshot;
+        } catch (RuntimeException ex) {
+            RosterSnapshot stale = lastGoodRoster;
+            if (stale == null) {
+                throw ex;
+            }
+            log.warn(
+                    "Serving stale roster version={} loaded at {} -> {}",
+                    stale.getVersion(),
+                    stale.getLoadedAt(),
+                    ex.getMessage());
+            StaleResponse.mark(stale.getLoadedAt());
+            return stale;
+        }
+    }
+
     public List<Employee> fetchAll() {
-        log.debug("Fetching all employees from remote service");
-        List<Employee> employees = client.fetchAll();
-        log.info("Fetched {} employees", employees != null ? employees.size() : 0);
+        List<Employee> employees = snapshot().getEmployees();
+        log.info("Fetched {} employees", employees.size());
         return employees;
     }
 
-    @Cacheable(value = "employeeById", key = "#id")
+    /*
+     * Answered from the roster snapshot whenever it is fresh enough, including "not found". The upstream is only asked
+     * when there is no usable snapshot, and ids it reports missing are remembered briefly in the negative cache.
+     */
     public Employee fetchById(String id) {
         log.debug("Fetching employee by id={}", id);
+        RosterSnapshot snapshot = rosterCache.synchronous().getIfPresent(RosterLoader.KEY);
+        if (snapshot != null && isFreshEnoughForLookup(snapshot)) {
+            Employee employee = snapshot.findById(id);
+            if (employee == null) {
+                log.warn("Employee with id={} not found in roster version={}", id, snapshot.getVersion());
+                throw new EmployeeNotFoundException("Employee with id " + id + " not found");
+            }
+            return employee;
+        }
+        if (employeeNotFoundCache.getIfPresent(id) != null) {
+            log.warn("Employee with id={} not found (recently reported missing by remote service)", id);
+            throw new EmployeeNotFoundException("Employee with id " + id + " not found");
+        }
+        Employee cached = cacheManager.getCache(CacheConfig.EMPLOYEE_BY_ID_CACHE).get(id, Employee.class);
+        if (cached != null) {
+            return cached;
+        }
+        Employee employee;
+        try {
+            employee = fetchRemote(id);
+        } catch (TooManyRequestsException ex) {
+            RosterSnapshot stale = snapshot != null ? snapshot : lastGoodRoster;
+            if (stale == null) {
+                throw ex;
+            }
+            log.warn("Serving employee id={} from stale roster version={}", id, stale.getVersion());
+            StaleResponse.mark(stale.getLoadedAt());
+            employee = stale.findById(id);
+            if (employee == null) {
+                throw new EmployeeNotFoundException("Employee with id " + id + " not found");
+            }
+            return employee;
+        }
+        cacheManager.getCache(CacheConfig.EMPLOYEE_BY_ID_CACHE).put(id, employee);
+        return employee;
+    }
+
+    private Employee fetchRemote(String id) {
         try {
-            Employee employee = client.fetchById(id);
+            Employee employee = circuitBreaker.call(() -> client.fetchById(id));
             if (employee == null) {
                 log.warn("Employee with id={} not found", id);
+                employeeNotFoundCache.put(id, Boolean.TRUE);
                 throw new EmployeeNotFoundException("Employee with id " + id + " not found");
             }
             log.info("Fetched employee with id={} and name={}", id, employee.getEmployeeName());
@@ -45,6 +213,7 @@ public class EmployeeService {
         } catch (HttpClientErrorException ex) {
             if (ex.getStatusCode() == HttpStatus.NOT_FOUND) {
                 log.warn("Employee with id={} not found (404 from remote service)", id);
+                employeeNotFoundCache.put(id, Boolean.TRUE);
                 throw new EmployeeNotFoundException("Employee with id " + id + " not found");
             }
             log.error("Error fetching employee with id={} -> {}", id, ex.getMessage(), ex);
@@ -52,12 +221,17 @@ public class EmployeeService {
         }
     }
 
-    @CacheEvict(value = {"employeesAll", "employeeById", "searchByName", "highestSalary", "topTenNamesBySalary"}, allEntries = true)
+    private boolean isFreshEnoughForLookup(RosterSnapshot snapshot) {
+        return snapshot.getLoadedAt().plus(idLookupMaxAge).isAfter(Instant.now());
+    }
+
+    @CacheEvict(value = CacheConfig.EMPLOYEE_BY_ID_CACHE, key = "#id")
     public String deleteById(String id) {
         log.debug("Deleting employee by id={}", id);
         Employee employee = fetchById(id);
         String name = employee.getEmployeeName();
-        if (Boolean.TRUE.equals(client.deleteByName(name))) {
+        if (Boolean.TRUE.equals(circuitBreaker.call(() -> client.deleteByName(name)))) {
+            updateRoster(snapshot -> snapshot.withRemoved(rosterLoader.nextVersion(), id));
             log.info("Successfully deleted employee id={} name={}", id, name);
             return name;
         }
@@ -65,47 +239,52 @@ public class EmployeeService {
         throw new EmployeeNotFoundException("Employee with id " + id + " not found");
     }
 
-    @Cacheable(value = "searchByName", key = "#fragment")
     public List<Employee> searchByName(String name) {
         log.debug("Searching employees by name name='{}'", name);
-        String formattedName = name == null ? "" : name.toLowerCase();
-        List<Employee> results = fetchAll().stream()
-                .filter(e -> e.getEmployeeName() != null
-                        && e.getEmployeeName().toLowerCase().contains(formattedName))
-                .collect(Collectors.toList());
+        RosterSnapshot snapshot = snapshot();
+        NameSearch search = new NameSearch(snapshot.getVersion(), name == null ? "" : RosterSnapshot.fold(name));
+        List<Employee> results = employeeSearchCache.get(search, key -> snapshot.searchByName(key.fragment()));
         log.info("Found {} employees matching '{}'", results.size(), name);
         return results;
     }
 
-    @Cacheable(value = "highestSalary")
     public int highestSalary() {
-        log.debug("Calculating highest salary among employees");
-        int maxSalary = fetchAll().stream()
-                .map(Employee::getEmployeeSalary)
-                .filter(Objects::nonNull)
-                .mapToInt(Integer::intValue)
-                .max()
-                .orElse(0);
+        int maxSalary = snapshot().getMaxSalary();
         log.info("Highest salary found={}", maxSalary);
         return maxSalary;
     }
 
-    @Cacheable(value = "topTenNamesBySalary")
     public List<String> topTenNamesBySalary() {
-        log.debug("Fetching top 10 employee names by salary");
-        List<String> topTen = fetchAll().stream()
-                .sorted(Comparator.comparing(
-                                Employee::getEmployeeSalary, Comparator.nullsLast(Comparator.naturalOrder()))
-                        .reversed())
-                .limit(10)
-                .map(Employee::getEmployeeName)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        List<String> topTen = snapshot().topNamesBySalary(10);
         log.info("Top 10 employees by salary: {}", topTen);
         return topTen;
     }
 
-    @CacheEvict(value = {"employeesAll", "employeeById", "searchByName", "highestSalary", "topTenNamesBySalary"}, allEntries = true)
+    public List<Employee> topBySalary(int limit) {
+        List<Employee> top = snapshot().topBySalary(limit);
+        log.info("Top {} employees by salary: {} found", limit, top.size());
+        return top;
+    }
+
+    public int countBySalary(int min, int max) {
+        int count = snapshot().countBySalary(min, max);
+        log.info("Employees with salary between {} and {}: {}", min, max, count);
+        return count;
+    }
+
+    public int salaryPercentile(double percentile) {
+        int salary = snapshot().salaryPercentile(percentile);
+        log.info("Salary at percentile {}: {}", percentile, salary);
+        return salary;
+    }
+
+    @Caching(
+            put = @CachePut(value = CacheConfig.EMPLOYEE_BY_ID_CACHE, key = "#result.id", unless = "#result == null"),
+            evict =
+                    @CacheEvict(
+                            value = CacheConfig.EMPLOYEE_NOT_FOUND_CACHE,
+                            key = "#result.id",
+                            condition = "#result != null"))
     public Employee create(CreateEmployeeInput in) {
         log.debug("Creating new employee with input: {}", in);
         Map<String, Object> body = new HashMap<>();
@@ -113,11 +292,43 @@ public class EmployeeService {
         body.put("salary", in.getSalary());
         body.put("age", in.getAge());
         body.put("title", in.getTitle());
-        Employee employee = client.create(body);
+        Employee employee = circuitBreaker.call(() -> client.create(body));
+        if (employee != null) {
+            updateRoster(snapshot -> snapshot.withAdded(rosterLoader.nextVersion(), employee));
+        }
         log.info(
                 "Created employee id={} name={}",
                 employee != null ? employee.getId() : null,
                 employee != null ? employee.getEmployeeName() : null);
         return employee;
     }
+
+    private void updateRoster(UnaryOperator<RosterSnapshot> update) {
+        // Journaled before it is applied, so a reconcile that misses it in the cache still replays it.
+        long sequence = localWriteSequence.incrementAndGet();
+        localWrites.put(sequence, update);
+        Map.Entry<Long, UnaryOperator<RosterSnapshot>> oldest = localWrites.firstEntry();
+        long journaled = oldest == null ? 0 : sequence - oldest.getKey() + 1;
+        if (journaled > maxLocalWrites) {
+            // Reconciles have been failing for a while. Rather than journal every write until one lands, drop the
+            // snapshot so the next read loads the roster in full, which reflects every write so far.
+            log.warn("{} local writes since the last reconcile, dropping the roster snapshot", journaled);
+            localWritesDropped.incrementAndGet();
+            rosterCache.synchronous().invalidate(RosterLoader.KEY);
+            localWrites.headMap(sequence, true).clear();
+            return;
+        }
+        RosterSnapshot updated = rosterCache
+                .synchronous()
+                .asMap()
+                .computeIfPresent(RosterLoader.KEY, (key, snapshot) -> update.apply(snapshot));
+        if (updated != null) {
+            lastGoodRoster = updated;
+        }
+    }
+
+    /**
+     * A name search against one roster version, by folded fragment.
+     */
+    public record NameSearch(long version, String fragment) {}
 }
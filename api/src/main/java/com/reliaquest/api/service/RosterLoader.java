@@ -0,0 +1,95 @@
+package com.reliaquest.api.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.reliaquest.api.client.ConditionalRoster;
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.client.PagedRosterFetcher;
+import com.reliaquest.api.client.UpstreamCircuitBreaker;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.api.model.RosterVersion;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RosterLoader implements CacheLoader<String, RosterSnapshot> {
+
+    public static final String KEY = "roster";
+
+    private final EmployeeClient client;
+
+    private final UpstreamCircuitBreaker circuitBreaker;
+
+    private final PagedRosterFetcher pagedFetcher;
+
+    // Opt-in: fetch the roster in pages, several at a time, instead of in one response.
+    @Value("${employee.client.paging.enabled:false}")
+    private boolean paging;
+
+    private final AtomicLong versions = new AtomicLong();
+
+    @Override
+    public RosterSnapshot load(String key) {
+        log.debug("Fetching all employees from remote service");
+        List<Employee> employees = circuitBreaker.call(paging ? pagedFetcher::fetchAll : client::fetchAll);
+        // The fetched list is fresh and handed out read-only, so the snapshot can keep it without a copy.
+        RosterSnapshot snapshot = RosterSnapshot.ofOwned(nextVersion(), employees, null, null);
+        log.info("Built roster snapshot version={} with {} employees", snapshot.getVersion(), snapshot.size());
+        return snapshot;
+    }
+
+    /*
+     * Refreshes apply the upstream's changes since the cached snapshot's upstream version. Without one, or once the
+     * upstream no longer has the changes, they ask for the roster only if it no longer matches the snapshot's ETag, and
+     * keep the snapshot on a 304. The first refresh after a load knows neither yet and fetches in full.
+     */
+    @Override
+    public RosterSnapshot reload(String key, RosterSnapshot oldValue) {
+        if (paging) {
+            return load(key);
+        }
+        RosterVersion since = oldValue.getUpstreamVersion();
+        if (since != null) {
+            Optional<EmployeeChanges> changes = circuitBreaker.call(() -> client.fetchChanges(since));
+            if (changes.isPresent()) {
+                return applyChanges(oldValue, changes.get());
+            }
+            log.info("Upstream no longer has the changes since {}, refetching the roster", since);
+        }
+        ConditionalRoster roster = circuitBreaker.call(() -> client.fetchAllIfChanged(oldValue.getEtag()));
+        if (!roster.isModified()) {
+            log.debug("Roster snapshot version={} unchanged upstream", oldValue.getVersion());
+            return oldValue.revalidated();
+        }
+        RosterSnapshot snapshot =
+                RosterSnapshot.ofOwned(nextVersion(), roster.employees(), roster.etag(), roster.upstreamVersion());
+        log.info("Built roster snapshot version={} with {} employees", snapshot.getVersion(), snapshot.size());
+        return snapshot;
+    }
+
+    private RosterSnapshot applyChanges(RosterSnapshot oldValue, EmployeeChanges changes) {
+        if (changes.getChanges().isEmpty()) {
+            log.debug("Roster snapshot version={} unchanged upstream", oldValue.getVersion());
+            return oldValue.revalidated();
+        }
+        RosterSnapshot snapshot = oldValue.withChanges(
+                nextVersion(), changes.getChanges(), new RosterVersion(changes.getEpoch(), changes.getVersion()));
+        log.info(
+                "Built roster snapshot version={} from {} upstream changes",
+                snapshot.getVersion(),
+                changes.getChanges().size());
+        return snapshot;
+    }
+
+    public long nextVersion() {
+        return versions.incrementAndGet();
+    }
+}
@@ -0,0 +1,23 @@
+package com.reliaquest.api.service;
+
+import java.time.Instant;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Marks the current request as answered from data that could not be refreshed from the upstream, so the response can
+ * say so.
+ */
+public final class StaleResponse {
+
+    public static final String ATTRIBUTE = StaleResponse.class.getName() + ".loadedAt";
+
+    private StaleResponse() {}
+
+    public static void mark(Instant loadedAt) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, loadedAt, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.reliaquest.api;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class AdaptiveRateLimiterTest {
+
+    private static final Duration BACKOFF = Duration.ofSeconds(30);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AdaptiveRateLimiter limiter =
+            new AdaptiveRateLimiter(BACKOFF, Duration.ofMinutes(2), Duration.ofMillis(500), now::get);
+
+    @Test
+    void learnsTheCapacityFromTheFirst429() {
+        acceptAll(3);
+        long fourth = limiter.tryAcquire();
+        limiter.onRejected(fourth);
+
+        assertThat(limiter.getCapacity()).isEqualTo(3);
+        assertThat(limiter.tryAcquire()).isEqualTo(-BACKOFF.toNanos());
+    }
+
+    @Test
+    void refillsAfterTheBackoffAndBlocksAtTheLearnedCapacity() {
+        learnCapacity(3);
+        now.addAndGet(BACKOFF.toNanos());
+
+        List<Long> permits = acquire(3);
+        assertThat(permits).allMatch(permit -> permit >= 0);
+        assertThat(limiter.tryAcquire()).isNegative();
+        now.addAndGet(BACKOFF.toNanos());
+        assertThat(limiter.tryAcquire()).isNotNegative();
+    }
+
+    @Test
+    void aCleanWindowProbesForMoreCapacityAndDecaysTheBackoff() {
+        learnCapacity(3);
+        now.addAndGet(BACKOFF.toNanos());
+        long early = limiter.tryAcquire();
+        limiter.onRejected(early);
+        Duration grown = limiter.getBackoff();
+        assertThat(grown).isEqualTo(BACKOFF.multipliedBy(3).dividedBy(2));
+
+        now.addAndGet(grown.toNanos());
+        acceptAll(3);
+        now.addAndGet(grown.toNanos());
+        assertThat(limiter.tryAcquire()).isNotNegative();
+
+        assertThat(limiter.getCapacity()).isEqualTo(4);
+        assertThat(limiter.getBackoff()).isLessThan(grown).isGreaterThanOrEqualTo(BACKOFF);
+    }
+
+    @Test
+    void aMispredictedRefillGrowsTheBackoffButKeepsTheCapacity() {
+        learnCapacity(3);
+        now.addAndGet(BACKOFF.toNanos());
+
+        limiter.onRejected(limiter.tryAcquire());
+
+        assertThat(limiter.getCapacity()).isEqualTo(3);
+        assertThat(limiter.getBackoff()).isEqualTo(BACKOFF.multipliedBy(3).dividedBy(2));
+        assertThat(limiter.tryAcquire()).isEqualTo(-BACKOFF.toNanos());
+    }
+
+    @Test
+    void concurrent429sCountRequestsStillInFlight() {
+        List<Long> permits = acquire(8);
+        for (int i = 0; i < 3; i++) {
+            limiter.onSuccess(permits.get(i));
+        }
+
+        limiter.onRejected(permits.get(3));
+        assertThat(limiter.getCapacity()).isEqualTo(7);
+        limiter.onRejected(permits.get(4));
+        limiter.onRejected(permits.get(5));
+        limiter.onSuccess(permits.get(6));
+        limiter.onSuccess(permits.get(7));
+
+        assertThat(limiter.getCapacity()).isEqualTo(5);
+    }
+
+    @Test
+    void outcomesFromAnEarlierWindowAreIgnored() {
+        learnCapacity(2);
+        now.addAndGet(BACKOFF.toNanos());
+        List<Long> earlier = acquire(2);
+        limiter.onSuccess(earlier.get(0));
+        now.addAndGet(BACKOFF.toNanos());
+        long fresh = limiter.tryAcquire();
+
+        limiter.onRejected(earlier.get(1));
+
+        assertThat(fresh).isNotEqualTo(earlier.get(1));
+        assertThat(limiter.getCapacity()).isEqualTo(2);
+        assertThat(limiter.tryAcquire()).isNotNegative();
+    }
+
+    @Test
+    void transportFailuresDoNotCountAsAccepted() {
+        List<Long> permits = acquire(3);
+        limiter.onSuccess(permits.get(0));
+        limiter.onFailed(permits.get(1));
+
+        limiter.onRejected(permits.get(2));
+
+        assertThat(limiter.getCapacity()).isEqualTo(1);
+    }
+
+    @Test
+    void shortCircuitsWhenTheRefillIsBeyondMaxWait() {
+        learnCapacity(1);
+
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOfSatisfying(
+                        HttpClientErrorException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+    }
+
+    private void learnCapacity(int capacity) {
+        acceptAll(capacity);
+        limiter.onRejected(limiter.tryAcquire());
+        assertThat(limiter.getCapacity()).isEqualTo(capacity);
+    }
+
+    private void acceptAll(int count) {
+        for (long permit : acquire(count)) {
+            limiter.onSuccess(permit);
+        }
+    }
+
+    private List<Long> acquire(int count) {
+        List<Long> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long permit = limiter.tryAcquire();
+            assertThat(permit).isNotNegative();
+            permits.add(permit);
+        }
+        return permits;
+    }
+}
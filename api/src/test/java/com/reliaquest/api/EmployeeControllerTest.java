@@ -1,8 +1,10 @@
 package com.reliaquest.api;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -10,19 +12,25 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.exception.TooManyRequestsException;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Arrays;
 import java.util.Collections;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(EmployeeController.class)
+@Import(SimpleMeterRegistry.class)
 public class EmployeeControllerTest {
 
     @Autowired
@@ -34,6 +42,9 @@ public class EmployeeControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void getAllReturnsList() throws Exception {
         Employee e = new Employee();
@@ -47,6 +58,48 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$[0].employee_name", is("Alice")));
     }
 
+    @Test
+    void streamWritesOneEmployeePerLine() throws Exception {
+        Employee a = new Employee();
+        a.setId("1");
+        a.setEmployeeName("Alice");
+        Employee b = new Employee();
+        b.setId("2");
+        b.setEmployeeName("Bob");
+        when(svc.fetchAll()).thenReturn(Arrays.asList(a, b));
+
+        String expected = objectMapper.writeValueAsString(a) + "\n" + objectMapper.writeValueAsString(b) + "\n";
+
+        MvcResult started = mvc.perform(get("/api/v1/employee/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(expected));
+    }
+
+    @Test
+    void streamWritesAJsonArrayWhenAsked() throws Exception {
+        Employee a = new Employee();
+        a.setId("1");
+        a.setEmployeeName("Alice");
+        Employee b = new Employee();
+        b.setId("2");
+        b.setEmployeeName("Bob");
+        when(svc.fetchAll()).thenReturn(Arrays.asList(a, b));
+
+        MvcResult started = mvc.perform(get("/api/v1/employee/stream").param("format", "array"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].employee_name", is("Alice")))
+                .andExpect(jsonPath("$[1].employee_name", is("Bob")));
+    }
+
     @Test
     void getByIdReturnsEmployee() throws Exception {
         Employee e = new Employee();
@@ -60,6 +113,16 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.employee_name", is("Bob")));
     }
 
+    @Test
+    void busyUpstreamIsAnswered503AndCounted() throws Exception {
+        when(svc.fetchById("7")).thenThrow(new TooManyRequestsException("Employee service unavailable."));
+
+        mvc.perform(get("/api/v1/employee/7"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.details", is("Employee service unavailable.")));
+        assertThat(meterRegistry.get("employee.api.busy").counter().count(), is(1.0));
+    }
+
     @Test
     void searchByNameReturnsMatches() throws Exception {
         Employee e = new Employee();
@@ -73,6 +136,18 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$[0].employee_name", is("Charlie")));
     }
 
+    @Test
+    void salaryPercentileIsValidated() throws Exception {
+        when(svc.salaryPercentile(90.0)).thenReturn(120000);
+
+        mvc.perform(get("/api/v1/employee/salary/percentile/90"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("120000"));
+        mvc.perform(get("/api/v1/employee/salary/percentile/101"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details", containsString("percentile")));
+    }
+
     @Test
     void createEmployeeReturnsCreated() throws Exception {
         CreateEmployeeInput in = new CreateEmployeeInput();
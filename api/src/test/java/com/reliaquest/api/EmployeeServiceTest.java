@@ -10,12 +10,14 @@ import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.Response;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.*;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
 
-@SpringBootTest
+@SpringBootTest(properties = "employee.roster.warm-up=false")
 class EmployeeServiceTest {
 
     @Autowired
@@ -24,14 +26,20 @@ class EmployeeServiceTest {
     @MockBean
     private EmployeeApi employeeApi;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
     @Test
     void testFetchAll() {
         Employee e = new Employee();
         e.setId("1");
         e.setEmployeeName("John");
-        Response<Employee[]> resp = new Response<>();
-        resp.setData(new Employee[] {e});
-        when(employeeApi.fetchAll()).thenReturn(resp);
+        when(employeeApi.fetchAll()).thenReturn(List.of(e));
 
         List<Employee> result = employeeService.fetchAll();
         assertThat(result).hasSize(1);
@@ -118,9 +126,7 @@ class EmployeeServiceTest {
         e2.setEmployeeName("Bob");
         e2.setEmployeeSalary(8000);
 
-        Response<Employee[]> resp = new Response<>();
-        resp.setData(new Employee[] {e1, e2});
-        when(employeeApi.fetchAll()).thenReturn(resp);
+        when(employeeApi.fetchAll()).thenReturn(List.of(e1, e2));
 
         List<Employee> all = employeeService.fetchAll();
         assertThat(all).hasSize(2);
@@ -134,4 +140,64 @@ class EmployeeServiceTest {
         List<Employee> search = employeeService.searchByName("ali");
         assertThat(search).hasSize(1).extracting(Employee::getEmployeeName).contains("Alice");
     }
+
+    @Test
+    void testWritesUpdateCachedRosterWithoutRefetch() {
+        Employee e1 = new Employee();
+        e1.setId("1");
+        e1.setEmployeeName("Alice");
+        e1.setEmployeeSalary(5000);
+
+        when(employeeApi.fetchAll()).thenReturn(List.of(e1));
+        assertThat(employeeService.fetchAll()).hasSize(1);
+
+        Employee created = new Employee();
+        created.setId("2");
+        created.setEmployeeName("Bob");
+        created.setEmployeeSalary(9000);
+        Response<Employee> createResp = new Response<>();
+        createResp.setData(created);
+        when(employeeApi.create(any(Map.class))).thenReturn(createResp);
+
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName("Bob");
+        input.setAge(30);
+        input.setSalary(9000);
+        input.setTitle("Dev");
+        employeeService.create(input);
+
+        assertThat(employeeService.fetchAll()).extracting(Employee::getEmployeeName).containsExactly("Alice", "Bob");
+        assertThat(employeeService.highestSalary()).isEqualTo(9000);
+        assertThat(employeeService.fetchById("2").getEmployeeName()).isEqualTo("Bob");
+
+        Response<Boolean> delResp = new Response<>();
+        delResp.setData(Boolean.TRUE);
+        when(employeeApi.deleteByName(any(Map.class))).thenReturn(delResp);
+        employeeService.deleteById("2");
+
+        assertThat(employeeService.topTenNamesBySalary()).containsExactly("Alice");
+        verify(employeeApi, times(1)).fetchAll();
+        verify(employeeApi, never()).fetchById(any());
+    }
+
+    @Test
+    void testFetchById_servedFromRosterAndNegativeCache() {
+        Employee e = new Employee();
+        e.setId("1");
+        e.setEmployeeName("Alice");
+        when(employeeApi.fetchAll()).thenReturn(List.of(e));
+        when(employeeApi.fetchById("404"))
+                .thenThrow(new org.springframework.web.client.HttpClientErrorException(
+                        org.springframework.http.HttpStatus.NOT_FOUND, "Not Found"));
+
+        assertThatThrownBy(() -> employeeService.fetchById("404")).isInstanceOf(EmployeeNotFoundException.class);
+        assertThatThrownBy(() -> employeeService.fetchById("404")).isInstanceOf(EmployeeNotFoundException.class);
+        verify(employeeApi, times(1)).fetchById("404");
+
+        employeeService.fetchAll();
+        assertThat(employeeService.fetchById("1").getEmployeeName()).isEqualTo("Alice");
+        assertThatThrownBy(() -> employeeService.fetchById("2")).isInstanceOf(EmployeeNotFoundException.class);
+        verify(employeeApi, never()).fetchById("1");
+        verify(employeeApi, never()).fetchById("2");
+    }
 }
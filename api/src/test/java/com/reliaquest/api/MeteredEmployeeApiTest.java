@@ -0,0 +1,55 @@
+package com.reliaquest.api;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.client.EmployeeApi;
+import com.reliaquest.api.client.MeteredEmployeeApi;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+class MeteredEmployeeApiTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EmployeeApi delegate = mock(EmployeeApi.class);
+    private final EmployeeApi api = new MeteredEmployeeApi(delegate, meterRegistry);
+
+    @Test
+    void eachAttemptIsTimedWithItsOutcome() {
+        when(delegate.fetchAll())
+                .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS))
+                .thenReturn(List.of(new Employee()));
+        RetryTemplate retry = RetryTemplate.builder()
+                .maxAttempts(2)
+                .noBackoff()
+                .retryOn(HttpClientErrorException.class)
+                .build();
+
+        assertThat(retry.execute(context -> api.fetchAll())).hasSize(1);
+
+        assertThat(count("fetchAll", "throttled", "1")).isEqualTo(1);
+        assertThat(count("fetchAll", "success", "2")).isEqualTo(1);
+    }
+
+    @Test
+    void callsOutsideARetryAreFirstAttempts() {
+        when(delegate.fetchById("1")).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        assertThatThrownBy(() -> api.fetchById("1")).isInstanceOf(HttpClientErrorException.class);
+
+        assertThat(count("fetchById", "client_error", "1")).isEqualTo(1);
+    }
+
+    private long count(String operation, String outcome, String attempt) {
+        return meterRegistry
+                .get(MeteredEmployeeApi.REQUESTS)
+                .tags("operation", operation, "outcome", outcome, "attempt", attempt)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.client.EmployeeApi;
+import com.reliaquest.api.client.PagedRosterFetcher;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.Response;
+import feign.FeignException;
+import feign.Request;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PagedRosterFetcherTest {
+
+    // Sequence numbers 1..10 with 4 and 7 deleted.
+    private static final long[] SEQUENCES = {1, 2, 3, 5, 6, 8, 9, 10};
+
+    private final EmployeeApi api = mock(EmployeeApi.class);
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void shutDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void assemblesRangesInCursorOrderAndRetriesFailedPagesAlone() {
+        when(api.fetchPage(anyLong(), anyLong(), anyInt())).thenAnswer(call -> page(
+                call.getArgument(0, Long.class), call.getArgument(1, Long.class), call.getArgument(2, Integer.class)));
+        when(api.fetchPage(5, 8, 2))
+                .thenThrow(new FeignException.ServiceUnavailable("down", request(), null, Map.of()))
+                .thenAnswer(call -> page(5, 8, 2));
+
+        PagedRosterFetcher fetcher = new PagedRosterFetcher(api, executor, 2, 3);
+
+        assertThat(fetcher.fetchAll())
+                .extracting(Employee::getId)
+                .containsExactly("1", "2", "3", "5", "6", "8", "9", "10");
+        verify(api, times(2)).fetchPage(5, 8, 2);
+        verify(api, times(1)).fetchPage(0, Long.MAX_VALUE, 2);
+    }
+
+    private static Response<EmployeePage> page(long cursor, long until, int limit) {
+        List<Employee> employees = new ArrayList<>();
+        Long nextCursor = null;
+        for (long sequence : SEQUENCES) {
+            if (sequence <= cursor || sequence > until) {
+                continue;
+            }
+            if (employees.size() == limit) {
+                nextCursor = Long.valueOf(employees.get(limit - 1).getId());
+                break;
+            }
+            Employee employee = new Employee();
+            employee.setId(Long.toString(sequence));
+            employees.add(employee);
+        }
+        EmployeePage page = new EmployeePage();
+        page.setEmployees(employees);
+        page.setNextCursor(nextCursor);
+        page.setLastCursor(SEQUENCES[SEQUENCES.length - 1]);
+        Response<EmployeePage> response = new Response<>();
+        response.setData(page);
+        return response;
+    }
+
+    private static Request request() {
+        return Request.create(
+                Request.HttpMethod.GET, "http://localhost/page", Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+}
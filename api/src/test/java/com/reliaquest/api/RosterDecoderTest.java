@@ -0,0 +1,87 @@
+package com.reliaquest.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeApi;
+import com.reliaquest.api.client.RosterDecoder;
+import com.reliaquest.api.model.Employee;
+import feign.Request;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.jackson.JacksonDecoder;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RosterDecoderTest {
+
+    private final ObjectMapper mapper =
+            new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final RosterDecoder decoder = new RosterDecoder(new JacksonDecoder(mapper), mapper);
+
+    @Test
+    void decodesRosterSkippingEnvelopeFields() throws Exception {
+        String json = "{\"status\":{\"code\":\"ok\",\"detail\":[1,2]},\"data\":["
+                + "{\"id\":\"1\",\"employee_name\":\"Alice\",\"employee_salary\":10,\"unknown\":{\"x\":1}},"
+                + "{\"id\":\"2\",\"employee_name\":\"Bob\"}],\"trailer\":true}";
+
+        Object decoded = decoder.decode(response(json), returnType("fetchAll"));
+
+        assertThat(decoded).isInstanceOf(List.class);
+        @SuppressWarnings("unchecked")
+        List<Employee> employees = (List<Employee>) decoded;
+        assertThat(employees).extracting(Employee::getEmployeeName).containsExactly("Alice", "Bob");
+        assertThat(employees.get(0).getEmployeeSalary()).isEqualTo(10);
+    }
+
+    @Test
+    void decodesNullDataAsNull() throws Exception {
+        assertThat(decoder.decode(response("{\"data\":null}"), returnType("fetchAll"))).isNull();
+    }
+
+    @Test
+    void skipsNullElementsWithoutEndingTheRoster() throws Exception {
+        String json = "{\"data\":[{\"id\":\"1\"},null,{\"id\":\"2\"}],\"status\":\"ok\"}";
+
+        @SuppressWarnings("unchecked")
+        List<Employee> employees = (List<Employee>) decoder.decode(response(json), returnType("fetchAll"));
+
+        assertThat(employees).extracting(Employee::getId).containsExactly("1", "2");
+    }
+
+    @Test
+    void rejectsElementsThatAreNotEmployees() {
+        String json = "{\"data\":[{\"id\":\"1\"},42,{\"id\":\"2\"}]}";
+
+        assertThatThrownBy(() -> decoder.decode(response(json), returnType("fetchAll")))
+                .isInstanceOf(DecodeException.class);
+    }
+
+    @Test
+    void delegatesOtherTypes() throws Exception {
+        Object decoded = decoder.decode(
+                response("{\"data\":{\"id\":\"7\"},\"status\":\"ok\"}"), returnType("fetchById", String.class));
+
+        assertThat(decoded).isInstanceOf(com.reliaquest.api.model.Response.class);
+        assertThat(((com.reliaquest.api.model.Response<?>) decoded).getData()).isInstanceOf(Employee.class);
+    }
+
+    private static Type returnType(String method, Class<?>... parameters) throws NoSuchMethodException {
+        return EmployeeApi.class.getMethod(method, parameters).getGenericReturnType();
+    }
+
+    private static Response response(String json) {
+        return Response.builder()
+                .status(200)
+                .request(Request.create(
+                        Request.HttpMethod.GET, "http://localhost/", Map.of(), null, StandardCharsets.UTF_8, null))
+                .headers(Map.of())
+                .body(json, StandardCharsets.UTF_8)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.api;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.client.ConditionalRoster;
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.client.PagedRosterFetcher;
+import com.reliaquest.api.client.UpstreamCircuitBreaker;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.api.model.RosterVersion;
+import com.reliaquest.api.service.RosterLoader;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class RosterLoaderTest {
+
+    private final EmployeeClient client = mock(EmployeeClient.class);
+
+    private final RosterLoader loader = new RosterLoader(
+            client,
+            new UpstreamCircuitBreaker(5, Duration.ofSeconds(30), System::nanoTime),
+            mock(PagedRosterFetcher.class));
+
+    private static Employee employee(String id, String name) {
+        Employee e = new Employee();
+        e.setId(id);
+        e.setEmployeeName(name);
+        return e;
+    }
+
+    @Test
+    void notModifiedKeepsTheSnapshot() throws Exception {
+        RosterSnapshot cached = RosterSnapshot.of(7, List.of(employee("1", "Ada")), "W/\"abc-3\"");
+        when(client.fetchAllIfChanged("W/\"abc-3\"")).thenReturn(ConditionalRoster.notModified("W/\"abc-3\""));
+
+        RosterSnapshot reloaded = loader.reload(RosterLoader.KEY, cached);
+
+        assertThat(reloaded.getVersion()).isEqualTo(7);
+        assertThat(reloaded.getEtag()).isEqualTo("W/\"abc-3\"");
+        assertThat(reloaded.getEmployees()).isSameAs(cached.getEmployees());
+        assertThat(reloaded.getLoadedAt()).isAfterOrEqualTo(cached.getLoadedAt());
+    }
+
+    @Test
+    void changedRosterBuildsANewSnapshot() throws Exception {
+        RosterSnapshot cached = RosterSnapshot.of(7, List.of(employee("1", "Ada")), "W/\"abc-3\"");
+        when(client.fetchAllIfChanged("W/\"abc-3\""))
+                .thenReturn(new ConditionalRoster(
+                        List.of(employee("2", "Grace")), "W/\"abc-4\"", new RosterVersion("abc", 4))));
+
+        RosterSnapshot reloaded = loader.reload(RosterLoader.KEY, cached);
+
+        assertThat(reloaded.getVersion()).isNotEqualTo(7);
+        assertThat(reloaded.getEtag()).isEqualTo("W/\"abc-4\"");
+        assertThat(reloaded.findById("2")).isNotNull();
+        assertThat(reloaded.getUpstreamVersion()).isEqualTo(new RosterVersion("abc", 4));
+    }
+
+    @Test
+    void upstreamChangesApplyToTheSnapshotInPlace() throws Exception {
+        RosterSnapshot cached = RosterSnapshot.of(
+                7, List.of(employee("1", "Ada"), employee("2", "Grace")), "W/\"abc-3\"", new RosterVersion("abc", 3));
+        when(client.fetchChanges(new RosterVersion("abc", 3)))
+                .thenReturn(Optional.of(changes(
+                        "abc",
+                        6,
+                        change(EmployeeChange.Operation.CREATED, employee("2", "Grace Hopper")),
+                        change(EmployeeChange.Operation.DELETED, employee("1", "Ada")),
+                        change(EmployeeChange.Operation.CREATED, employee("3", "Alan")))));
+
+        RosterSnapshot reloaded = loader.reload(RosterLoader.KEY, cached);
+
+        assertThat(reloaded.getEmployees())
+                .extracting(Employee::getEmployeeName)
+                .containsExactly("Grace Hopper", "Alan");
+        assertThat(reloaded.getUpstreamVersion()).isEqualTo(new RosterVersion("abc", 6));
+        verify(client, never()).fetchAllIfChanged(any());
+    }
+
+    @Test
+    void changesOutOfTheUpstreamWindowFallBackToAFullFetch() throws Exception {
+        RosterSnapshot cached = RosterSnapshot.of(
+                7, List.of(employee("1", "Ada")), "W/\"abc-3\"", new RosterVersion("abc", 3));
+        when(client.fetchChanges(new RosterVersion("abc", 3))).thenReturn(Optional.empty());
+        when(client.fetchAllIfChanged("W/\"abc-3\""))
+                .thenReturn(new ConditionalRoster(
+                        List.of(employee("9", "Edsger")), "W/\"def-1\"", new RosterVersion("def", 1)));
+
+        RosterSnapshot reloaded = loader.reload(RosterLoader.KEY, cached);
+
+        assertThat(reloaded.getEmployees()).extracting(Employee::getEmployeeName).containsExactly("Edsger");
+        assertThat(reloaded.getUpstreamVersion()).isEqualTo(new RosterVersion("def", 1));
+    }
+
+    private static EmployeeChange change(EmployeeChange.Operation operation, Employee employee) {
+        EmployeeChange change = new EmployeeChange();
+        change.setOperation(operation);
+        change.setEmployee(employee);
+        return change;
+    }
+
+    private static EmployeeChanges changes(String epoch, long version, EmployeeChange... changes) {
+        EmployeeChanges result = new EmployeeChanges();
+        result.setEpoch(epoch);
+        result.setVersion(version);
+        result.setChanges(List.of(changes));
+        return result;
+    }
+}
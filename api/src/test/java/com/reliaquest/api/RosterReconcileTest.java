@@ -0,0 +1,119 @@
+package com.reliaquest.api;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.client.UpstreamCircuitBreaker;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.RosterLoader;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RosterReconcileTest {
+
+    private final EmployeeClient client = mock(EmployeeClient.class);
+    private final RosterLoader loader = mock(RosterLoader.class);
+    private final AtomicLong versions = new AtomicLong(1);
+
+    private final AsyncLoadingCache<String, RosterSnapshot> rosterCache =
+            Caffeine.newBuilder().buildAsync(key -> RosterSnapshot.of(1, List.of(employee("1", "Ada"))));
+
+    private final EmployeeService service = new EmployeeService(
+            client,
+            rosterCache,
+            loader,
+            Caffeine.newBuilder().build(),
+            Caffeine.newBuilder().build(),
+            new NoOpCacheManager(),
+            new UpstreamCircuitBreaker(5, Duration.ofSeconds(30), System::nanoTime));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxLocalWrites", 10_000);
+    }
+
+    private static Employee employee(String id, String name) {
+        Employee e = new Employee();
+        e.setId(id);
+        e.setEmployeeName(name);
+        return e;
+    }
+
+    @Test
+    void reconcileLandsAndKeepsWritesMadeWhileItRan() throws Exception {
+        when(loader.nextVersion()).thenAnswer(call -> versions.incrementAndGet());
+        service.snapshot();
+        when(client.create(any())).thenReturn(employee("3", "Alan"));
+        when(loader.reload(eq(RosterLoader.KEY), any())).thenAnswer(call -> {
+            CreateEmployeeInput in = new CreateEmployeeInput();
+            in.setName("Alan");
+            service.create(in);
+            // Grace was added upstream by someone else; the reload started before Alan was created.
+            return RosterSnapshot.of(versions.incrementAndGet(), List.of(employee("1", "Ada"), employee("2", "Grace")));
+        });
+
+        service.reconcileRoster();
+
+        assertThat(service.snapshot().getEmployees())
+                .extracting(Employee::getEmployeeName)
+                .containsExactly("Ada", "Grace", "Alan");
+    }
+
+    @Test
+    void writesMadeBeforeTheReloadAreNotReplayed() throws Exception {
+        when(loader.nextVersion()).thenAnswer(call -> versions.incrementAndGet());
+        service.snapshot();
+        when(client.create(any())).thenReturn(employee("3", "Alan"));
+        CreateEmployeeInput in = new CreateEmployeeInput();
+        in.setName("Alan");
+        service.create(in);
+        // Alan was deleted upstream by someone else after being created here; the reload is the truth.
+        when(loader.reload(eq(RosterLoader.KEY), any()))
+                .thenReturn(RosterSnapshot.of(versions.incrementAndGet(), List.of(employee("1", "Ada"))));
+
+        service.reconcileRoster();
+
+        assertThat(service.snapshot().getEmployees())
+                .extracting(Employee::getEmployeeName)
+                .containsExactly("Ada");
+    }
+
+    @Test
+    void failingReconcilesDoNotGrowTheJournalWithoutLimit() throws Exception {
+        ReflectionTestUtils.setField(service, "maxLocalWrites", 3);
+        when(loader.nextVersion()).thenAnswer(call -> versions.incrementAndGet());
+        when(loader.reload(eq(RosterLoader.KEY), any())).thenThrow(new TooManyRequestsException("busy"));
+        service.snapshot();
+
+        for (int i = 0; i < 10; i++) {
+            when(client.create(any())).thenReturn(employee(Integer.toString(10 + i), "New " + i));
+            service.create(new CreateEmployeeInput());
+            service.reconcileRoster();
+            assertThat(localWrites()).hasSizeLessThanOrEqualTo(3);
+            if (i == 3) {
+                // The fourth write overflows the journal, which drops the snapshot instead of keeping it patched.
+                assertThat(rosterCache.synchronous().getIfPresent(RosterLoader.KEY)).isNull();
+            }
+        }
+        assertThat(service.snapshot().getEmployees())
+                .extracting(Employee::getEmployeeName)
+                .containsExactly("Ada");
+    }
+
+    private Map<?, ?> localWrites() {
+        return (Map<?, ?>) ReflectionTestUtils.getField(service, "localWrites");
+    }
+}
@@ -0,0 +1,140 @@
+package com.reliaquest.api;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.RosterSnapshot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RosterSnapshotTest {
+
+    private static Employee employee(String id, String name, Integer salary) {
+        Employee e = new Employee();
+        e.setId(id);
+        e.setEmployeeName(name);
+        e.setEmployeeSalary(salary);
+        return e;
+    }
+
+    @Test
+    void derivedViewsComeFromOneSnapshot() {
+        RosterSnapshot snapshot = RosterSnapshot.of(
+                7,
+                List.of(
+                        employee("1", "Alice", 5000),
+                        employee("2", "Bob", 8000),
+                        employee("3", "Carol", null),
+                        employee("4", "Dave", 8000)));
+
+        assertThat(snapshot.getVersion()).isEqualTo(7);
+        assertThat(snapshot.getMaxSalary()).isEqualTo(8000);
+        assertThat(snapshot.topNamesBySalary(10)).containsExactly("Bob", "Dave", "Alice");
+        assertThat(snapshot.topNamesBySalary(1)).containsExactly("Bob");
+        assertThat(snapshot.findById("3").getEmployeeName()).isEqualTo("Carol");
+        assertThat(snapshot.findById("missing")).isNull();
+        assertThat(snapshot.searchByName("A"))
+                .extracting(Employee::getEmployeeName)
+                .containsExactly("Alice", "Carol", "Dave");
+    }
+
+    @Test
+    void ofCopiesTheRosterAndOfOwnedKeepsIt() {
+        List<Employee> employees = new ArrayList<>(List.of(employee("1", "Alice", 5000)));
+
+        RosterSnapshot copied = RosterSnapshot.of(1, employees);
+        RosterSnapshot owned = RosterSnapshot.ofOwned(2, employees, null, null);
+        employees.add(employee("2", "Bob", 8000));
+
+        assertThat(copied.getEmployees()).hasSize(1);
+        assertThat(owned.getEmployees()).hasSize(2);
+        assertThatThrownBy(() -> owned.getEmployees().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void emptyRosterHasNoSalaries() {
+        RosterSnapshot snapshot = RosterSnapshot.of(1, List.of());
+
+        assertThat(snapshot.getMaxSalary()).isZero();
+        assertThat(snapshot.topNamesBySalary(10)).isEmpty();
+        assertThat(snapshot.searchByName("x")).isEmpty();
+    }
+
+    @Test
+    void writesProduceNewVersionsWithConsistentIndexes() {
+        RosterSnapshot base = RosterSnapshot.of(1, List.of(employee("1", "Alice", 5000), employee("2", "Bob", 8000)));
+
+        RosterSnapshot added = base.withAdded(2, employee("3", "Erin", 8000));
+        assertThat(added.getVersion()).isEqualTo(2);
+        assertThat(added.topNamesBySalary(10)).containsExactly("Bob", "Erin", "Alice");
+        assertThat(added.findById("3").getEmployeeName()).isEqualTo("Erin");
+        assertThat(base.findById("3")).isNull();
+
+        RosterSnapshot removed = added.withRemoved(3, "2");
+        assertThat(removed.getMaxSalary()).isEqualTo(8000);
+        assertThat(removed.topNamesBySalary(10)).containsExactly("Erin", "Alice");
+        assertThat(removed.searchByName("b")).isEmpty();
+        assertThat(removed.withRemoved(4, "missing")).isSameAs(removed);
+    }
+
+    @Test
+    void salaryQueriesReadTheSortedColumn() {
+        RosterSnapshot snapshot = RosterSnapshot.of(
+                1,
+                List.of(
+                        employee("1", "Alice", 5000),
+                        employee("2", "Bob", 8000),
+                        employee("3", "Carol", null),
+                        employee("4", "Dave", 8000),
+                        employee("5", "Erin", 1000)));
+
+        assertThat(snapshot.topBySalary(3)).extracting(Employee::getId).containsExactly("2", "4", "1");
+        assertThat(snapshot.topBySalary(100)).hasSize(4);
+        assertThat(snapshot.topBySalary(0)).isEmpty();
+        assertThat(snapshot.countBySalary(5000, 8000)).isEqualTo(3);
+        assertThat(snapshot.countBySalary(1001, 4999)).isZero();
+        assertThat(snapshot.countBySalary(0, Integer.MAX_VALUE)).isEqualTo(4);
+        assertThat(snapshot.countBySalary(8000, 5000)).isZero();
+        assertThat(snapshot.salaryPercentile(0)).isEqualTo(1000);
+        assertThat(snapshot.salaryPercentile(50)).isEqualTo(5000);
+        assertThat(snapshot.salaryPercentile(51)).isEqualTo(8000);
+        assertThat(snapshot.salaryPercentile(100)).isEqualTo(8000);
+        assertThat(RosterSnapshot.of(2, List.of()).salaryPercentile(50)).isZero();
+    }
+
+    @Test
+    void nameSearchMatchesAScanAcrossWritesAndRebuilds() {
+        Random random = new Random(7);
+        String[] names = {"Ada Lovelace", "Grace Hopper", "Alan Turing", "Barbara Liskov", "ABABAB", null};
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            String name = names[random.nextInt(names.length)];
+            employees.add(employee(Integer.toString(i), name == null ? null : name + i, i));
+        }
+        RosterSnapshot snapshot = RosterSnapshot.of(1, employees);
+        for (int write = 0; write < 3_000; write++) {
+            if (random.nextBoolean()) {
+                Employee removed = snapshot.getEmployees().get(random.nextInt(snapshot.size()));
+                snapshot = snapshot.withRemoved(write + 2, removed.getId());
+            } else {
+                snapshot = snapshot.withAdded(write + 2, employee("new-" + write, names[write % 4] + write, write));
+            }
+            if (write % 250 == 0) {
+                for (String fragment : List.of("ada", "A", "", "bab", "ace HOP", "ring1", "xyz")) {
+                    assertThat(snapshot.searchByName(fragment)).containsExactlyElementsOf(scan(snapshot, fragment));
+                }
+            }
+        }
+    }
+
+    private static List<Employee> scan(RosterSnapshot snapshot, String fragment) {
+        String folded = fragment.toLowerCase(Locale.ROOT);
+        return snapshot.getEmployees().stream()
+                .filter(e -> e.getEmployeeName() != null
+                        && e.getEmployeeName().toLowerCase(Locale.ROOT).contains(folded))
+                .toList();
+    }
+}
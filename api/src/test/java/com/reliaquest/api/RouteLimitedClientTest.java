@@ -0,0 +1,76 @@
+package com.reliaquest.api;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.client.RouteLimitedClient;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class RouteLimitedClientTest {
+
+    private static final Request REQUEST = Request.create(
+            Request.HttpMethod.GET, "http://localhost:8112/", Map.of(), null, StandardCharsets.UTF_8, null);
+    private static final Request.Options OPTIONS =
+            new Request.Options(50, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS, false);
+
+    private final Client delegate = mock(Client.class);
+    private final RouteLimitedClient client = new RouteLimitedClient(delegate, 1);
+
+    @Test
+    void holdsTheSlotUntilTheBodyIsClosed() throws Exception {
+        when(delegate.execute(any(), any())).thenAnswer(invocation -> response());
+        Response first = client.execute(REQUEST, OPTIONS);
+
+        assertThatThrownBy(() -> client.execute(REQUEST, OPTIONS)).isInstanceOf(SocketTimeoutException.class);
+
+        first.close();
+        try (Response second = client.execute(REQUEST, OPTIONS)) {
+            assertThat(second.status()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void closingTheBodyStreamReleasesTheSlot() throws Exception {
+        when(delegate.execute(any(), any())).thenAnswer(invocation -> response());
+        Response first = client.execute(REQUEST, OPTIONS);
+
+        try (InputStream body = first.body().asInputStream()) {
+            assertThat(body.readAllBytes()).isEqualTo("{}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (Response second = client.execute(REQUEST, OPTIONS)) {
+            assertThat(second.status()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void releasesTheSlotWhenTheTransportFails() throws Exception {
+        when(delegate.execute(any(), any()))
+                .thenThrow(new IOException("refused"))
+                .thenAnswer(invocation -> response());
+
+        assertThatThrownBy(() -> client.execute(REQUEST, OPTIONS)).hasMessage("refused");
+
+        try (Response response = client.execute(REQUEST, OPTIONS)) {
+            assertThat(response.status()).isEqualTo(200);
+        }
+    }
+
+    private static Response response() {
+        return Response.builder()
+                .status(200)
+                .request(REQUEST)
+                .headers(Map.of())
+                .body("{}", StandardCharsets.UTF_8)
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.api;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.reliaquest.api.client.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final Counter coalesced = new SimpleMeterRegistry().counter("coalesced");
+
+    @Test
+    void concurrentCallersShareOneCall() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(coalesced);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> flight.execute("all", () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return "roster";
+                })));
+            }
+            while (calls.get() + (int) coalesced.count() < 8) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("roster");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(coalesced.count()).isEqualTo(7);
+    }
+
+    @Test
+    void failureIsNotRememberedOnceTheCallCompletes() {
+        SingleFlight<String, String> flight = new SingleFlight<>(coalesced);
+
+        assertThatThrownBy(() -> flight.execute("1", () -> {
+                    throw new IllegalStateException("busy");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(flight.execute("1", () -> "ok")).isEqualTo("ok");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.api;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.reliaquest.api.client.UpstreamCircuitBreaker;
+import com.reliaquest.api.client.UpstreamCircuitBreaker.State;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class UpstreamCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final UpstreamCircuitBreaker breaker = new UpstreamCircuitBreaker(2, Duration.ofSeconds(30), now::get);
+
+    @Test
+    void opensAfterConsecutiveFailuresAndFailsFast() {
+        failOnce();
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        failOnce();
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+
+        assertThatThrownBy(() -> breaker.call(() -> "never called"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessageContaining("unavailable");
+    }
+
+    @Test
+    void notFoundIsNotAFailure() {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> breaker.call(() -> {
+                        throw new EmployeeNotFoundException("missing");
+                    }))
+                    .isInstanceOf(EmployeeNotFoundException.class);
+        }
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void letsOneProbeThroughWhenHalfOpen() {
+        failOnce();
+        failOnce();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        String result = breaker.call(() -> {
+            assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+            assertThatThrownBy(() -> breaker.call(() -> "second probe")).isInstanceOf(TooManyRequestsException.class);
+            return "probe";
+        });
+
+        assertThat(result).isEqualTo("probe");
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void failedProbeReopens() {
+        failOnce();
+        failOnce();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        failOnce();
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void probeThatThrowsAnErrorReopens() {
+        failOnce();
+        failOnce();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertThatThrownBy(() -> breaker.call(() -> {
+                    throw new StackOverflowError();
+                }))
+                .isInstanceOf(StackOverflowError.class);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(breaker.call(() -> "probe")).isEqualTo("probe");
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    private void failOnce() {
+        assertThatThrownBy(() -> breaker.call(() -> {
+                    throw new TooManyRequestsException("busy");
+                }))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.config.CacheConfig;
+import com.reliaquest.api.model.Employee;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * A hit in the by-id cache, configured as the api module configures it, reached three ways: through a
+ * {@link Cacheable} proxy, through the Spring {@link Cache} as {@code EmployeeService} reads it, and straight from
+ * Caffeine. The differences are the cost of each layer on the hot path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheHitBenchmark {
+
+    private static final int KEYS = 1_024;
+
+    private AnnotationConfigApplicationContext context;
+    private EmployeeLookup lookup;
+    private Cache cache;
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine;
+    private final String[] ids = new String[KEYS];
+    private int next;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(CachingConfig.class);
+        lookup = context.getBean(EmployeeLookup.class);
+        cache = context.getBean(CacheManager.class).getCache(CacheConfig.EMPLOYEE_BY_ID_CACHE);
+        caffeine = (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+        for (int i = 0; i < KEYS; i++) {
+            ids[i] = Integer.toString(i);
+            lookup.find(ids[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee cacheableProxy() {
+        return lookup.find(nextId());
+    }
+
+    @Benchmark
+    public Employee springCache() {
+        return cache.get(nextId(), Employee.class);
+    }
+
+    @Benchmark
+    public Object caffeine() {
+        return caffeine.getIfPresent(nextId());
+    }
+
+    private String nextId() {
+        return ids[next++ & (KEYS - 1)];
+    }
+
+    @Configuration
+    @EnableCaching
+    public static class CachingConfig {
+
+        @Bean
+        public CacheManager cacheManager() {
+            CaffeineCacheManager manager = new CaffeineCacheManager(CacheConfig.EMPLOYEE_BY_ID_CACHE);
+            manager.setCaffeine(new CacheConfig().caffeineSpec());
+            return manager;
+        }
+
+        @Bean
+        public EmployeeLookup employeeLookup() {
+            return new EmployeeLookup();
+        }
+    }
+
+    public static class EmployeeLookup {
+
+        @Cacheable(CacheConfig.EMPLOYEE_BY_ID_CACHE)
+        public Employee find(String id) {
+            Employee employee = new Employee();
+            employee.setId(id);
+            return employee;
+        }
+    }
+}
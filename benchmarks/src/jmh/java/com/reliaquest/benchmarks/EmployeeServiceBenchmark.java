@@ -0,0 +1,97 @@
+package com.reliaquest.benchmarks;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.client.UpstreamCircuitBreaker;
+import com.reliaquest.api.config.CacheConfig;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.RosterLoader;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cache.support.NoOpCacheManager;
+
+/**
+ * The read queries as the controller calls them: through {@link EmployeeService}, answered from a roster snapshot
+ * already in the cache, so only the query itself and the cache lookup are measured. A repeated name search is a hit in
+ * the search cache; {@link NameSearchBenchmark} measures the search itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmployeeServiceBenchmark {
+
+    @Param({"50", "10000", "100000", "1000000"})
+    int rosterSize;
+
+    private EmployeeService service;
+    private RosterSnapshot snapshot;
+    private String fragment;
+    private String id;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Employee> employees = Rosters.employees(rosterSize);
+        snapshot = RosterSnapshot.of(1, employees);
+        AsyncLoadingCache<String, RosterSnapshot> rosterCache = Caffeine.newBuilder().buildAsync(key -> snapshot);
+        rosterCache.synchronous().get(RosterLoader.KEY);
+        service = new EmployeeService(
+                null,
+                rosterCache,
+                null,
+                Caffeine.newBuilder().build(),
+                new CacheConfig().employeeSearchCache(1_000_000),
+                new NoOpCacheManager(),
+                new UpstreamCircuitBreaker(5, Duration.ofSeconds(30), System::nanoTime));
+        Employee middle = employees.get(employees.size() / 2);
+        // A real name fragment, so every roster size has matches to collect.
+        fragment = middle.getEmployeeName().substring(0, 3);
+        id = middle.getId();
+    }
+
+    @Benchmark
+    public List<Employee> searchByName() {
+        return service.searchByName(fragment);
+    }
+
+    @Benchmark
+    public int highestSalary() {
+        return service.highestSalary();
+    }
+
+    @Benchmark
+    public List<String> topTenNamesBySalary() {
+        return service.topTenNamesBySalary();
+    }
+
+    @Benchmark
+    public List<Employee> topHundredBySalary() {
+        return service.topBySalary(100);
+    }
+
+    @Benchmark
+    public int countBySalary() {
+        return service.countBySalary(100_000, 200_000);
+    }
+
+    @Benchmark
+    public int salaryPercentile() {
+        return service.salaryPercentile(90);
+    }
+
+    @Benchmark
+    public Employee findById() {
+        return snapshot.findById(id);
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The mock store's id and name indexes against the list scans they replaced, for an employee in the middle of the
+ * roster, and the cost of a write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MockEmployeeStoreBenchmark {
+
+    @Param({"50", "10000", "100000", "1000000"})
+    int rosterSize;
+
+    private MockEmployeeStore store;
+    private UUID id;
+    private String name;
+    private MockEmployee added;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<MockEmployee> employees = Rosters.mockEmployees(rosterSize);
+        store = new MockEmployeeStore(employees);
+        MockEmployee middle = employees.get(employees.size() / 2);
+        id = middle.getId();
+        name = middle.getName().toUpperCase();
+        added = middle.toBuilder().name("Benchmark Write").build();
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findByIdIndexed() {
+        return store.findById(id);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findByIdScan() {
+        return store.list().stream()
+                .filter(employee -> id.equals(employee.getId()))
+                .findFirst();
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findByNameIndexed() {
+        return store.snapshot().findFirstByName(name);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findByNameScan() {
+        return store.list().stream()
+                .filter(employee -> name.equalsIgnoreCase(employee.getName()))
+                .findFirst();
+    }
+
+    // One create and one delete, leaving the roster as it was; should not grow with the roster.
+    @Benchmark
+    public Optional<MockEmployee> addThenRemove() {
+        store.add(added.toBuilder().id(UUID.randomUUID()).build());
+        return store.removeFirstByName(added.getName());
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.RosterSnapshot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A name search on a roster snapshot, answered from its trigram index and by the linear scan over case-folded names
+ * that the index replaced. A selective fragment is most of one employee's name; a common one is a three-letter piece
+ * of a name that many employees share.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NameSearchBenchmark {
+
+    @Param({"50", "10000", "100000", "1000000"})
+    int rosterSize;
+
+    @Param({"selective", "common"})
+    String selectivity;
+
+    private RosterSnapshot snapshot;
+    private List<Employee> employees;
+    private String[] foldedNames;
+    private String fragment;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = Rosters.employees(rosterSize);
+        snapshot = RosterSnapshot.of(1, employees);
+        foldedNames = new String[employees.size()];
+        for (int i = 0; i < foldedNames.length; i++) {
+            foldedNames[i] = RosterSnapshot.fold(employees.get(i).getEmployeeName());
+        }
+        String name = employees.get(employees.size() / 2).getEmployeeName();
+        fragment = "selective".equals(selectivity) ? name.substring(1) : name.substring(0, 3);
+    }
+
+    @Benchmark
+    public List<Employee> trigramIndex() {
+        return snapshot.searchByName(fragment);
+    }
+
+    @Benchmark
+    public List<Employee> linearScan() {
+        String folded = RosterSnapshot.fold(fragment);
+        List<Employee> results = new ArrayList<>();
+        for (int i = 0; i < foldedNames.length; i++) {
+            if (foldedNames[i] != null && foldedNames[i].contains(folded)) {
+                results.add(employees.get(i));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,155 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.RosterDecoder;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.Response;
+import feign.Request;
+import feign.jackson.JacksonDecoder;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Decoding the upstream's responses, from the bytes the mock server actually sends: the whole roster through the
+ * streaming {@link RosterDecoder} and through Jackson's data binding of the envelope, which it replaced, and a single
+ * employee. The {@code *Heap} cases decode the roster once per iteration and report its heap cost as
+ * {@link HeapUse} counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RosterDecodeBenchmark {
+
+    @Param({"50", "10000", "100000", "1000000"})
+    int rosterSize;
+
+    private final ObjectMapper mapper =
+            new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final RosterDecoder rosterDecoder = new RosterDecoder(new JacksonDecoder(mapper), mapper);
+    private final JavaType rosterEnvelope = mapper.getTypeFactory()
+            .constructParametricType(
+                    com.reliaquest.api.model.Response.class,
+                    mapper.getTypeFactory().constructCollectionType(List.class, Employee.class));
+    private final JavaType employeeEnvelope =
+            mapper.getTypeFactory().constructParametricType(com.reliaquest.api.model.Response.class, Employee.class);
+
+    private byte[] roster;
+    private byte[] employee;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper serverMapper = new ObjectMapper();
+        var employees = Rosters.mockEmployees(rosterSize);
+        roster = serverMapper.writeValueAsBytes(Response.handledWith(employees));
+        employee = serverMapper.writeValueAsBytes(Response.handledWith(employees.get(0)));
+    }
+
+    @Benchmark
+    public List<Employee> streamingRoster() throws IOException {
+        return rosterDecoder.decodeRoster(response(roster));
+    }
+
+    @Benchmark
+    public Object boundRoster() throws IOException {
+        return mapper.readValue(roster, rosterEnvelope);
+    }
+
+    @Benchmark
+    public Object boundEmployee() throws IOException {
+        return mapper.readValue(employee, employeeEnvelope);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public void streamingRosterHeap(HeapUse heap) throws IOException {
+        heap.measure(() -> rosterDecoder.decodeRoster(response(roster)));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public void boundRosterHeap(HeapUse heap) throws IOException {
+        heap.measure(() -> mapper.readValue(roster, rosterEnvelope));
+    }
+
+    interface Decode {
+        Object run() throws IOException;
+    }
+
+    /**
+     * Heap cost of one decode, in bytes above the heap left by a forced GC just before it. {@code peakBytes} is the sum
+     * of the heap pools' high-water marks, read after a second forced GC has recorded them with the decode's garbage
+     * still in place; {@code retainedBytes} is what that GC leaves with the decoded roster still reachable.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapUse {
+
+        public long peakBytes;
+        public long retainedBytes;
+
+        private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        private long baseline;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            peakBytes = 0;
+            retainedBytes = 0;
+        }
+
+        @Setup(Level.Invocation)
+        public void settle() {
+            baseline = usedAfterGc();
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        }
+
+        void measure(Decode decode) throws IOException {
+            Object decoded = decode.run();
+            long retained = usedAfterGc();
+            long peak = 0;
+            for (MemoryPoolMXBean pool : heapPools) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+            Reference.reachabilityFence(decoded);
+            peakBytes += peak - baseline;
+            retainedBytes += retained - baseline;
+        }
+
+        private static long usedAfterGc() {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            memory.gc();
+            return memory.getHeapMemoryUsage().getUsed();
+        }
+    }
+
+    private static feign.Response response(byte[] body) {
+        return feign.Response.builder()
+                .status(200)
+                .request(Request.create(
+                        Request.HttpMethod.GET, "/api/v1/employee", Map.of(), null, StandardCharsets.UTF_8, null))
+                .headers(Map.of())
+                .body(body)
+                .build();
+    }
+}
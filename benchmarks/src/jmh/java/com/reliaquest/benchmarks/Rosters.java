@@ -0,0 +1,36 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import java.util.List;
+
+/**
+ * Rosters for the benchmarks, generated by the mock server's own generator from a fixed seed so that every run and
+ * every build measures the same data.
+ */
+final class Rosters {
+
+    static final long SEED = 42;
+
+    private Rosters() {}
+
+    static List<MockEmployee> mockEmployees(int size) {
+        return MockEmployeeGenerator.generate(SEED, size);
+    }
+
+    static List<Employee> employees(int size) {
+        return mockEmployees(size).stream().map(Rosters::toEmployee).toList();
+    }
+
+    private static Employee toEmployee(MockEmployee mock) {
+        Employee employee = new Employee();
+        employee.setId(mock.getId().toString());
+        employee.setEmployeeName(mock.getName());
+        employee.setEmployeeSalary(mock.getSalary());
+        employee.setEmployeeAge(mock.getAge());
+        employee.setEmployeeTitle(mock.getTitle());
+        employee.setEmployeeEmail(mock.getEmail());
+        return employee;
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeStore;
+import com.reliaquest.server.service.SerializedRosterCache;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * CPU per request for the mock server's list endpoint: serializing the roster on every request, as it used to, against
+ * handing out the {@link SerializedRosterCache} bytes for an unchanged roster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializedRosterBenchmark {
+
+    @Param({"50", "10000", "100000", "1000000"})
+    int rosterSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockEmployeeStore store;
+    private SerializedRosterCache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = new MockEmployeeStore(Rosters.mockEmployees(rosterSize));
+        cache = new SerializedRosterCache(store, objectMapper);
+        cache.get().getGzip();
+    }
+
+    @Benchmark
+    public byte[] serializePerRequest() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(Response.handledWith(store.list()));
+    }
+
+    @Benchmark
+    public byte[] cachedJson() {
+        return cache.get().getJson();
+    }
+
+    @Benchmark
+    public byte[] cachedGzip() {
+        return cache.get().getGzip();
+    }
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.loadtest;
+
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The mock server and the API, started in this JVM on free ports with a scenario's properties, the API pointed at the
+ * server. Each reads its own module's application.yml, copied onto the classpath under its own name by the build.
+ */
+final class Deployment implements AutoCloseable {
+
+    private static final Map<String, String> SERVER_DEFAULTS = Map.of(
+            "mock.employees.max", "10000",
+            "mock.employees.seed", "42",
+            "mock.throttle.profile", "off");
+
+    private static final Map<String, String> QUIET = Map.of(
+            "logging.level.root", "WARN",
+            "logging.level.com.reliaquest", "WARN");
+
+    private final ConfigurableApplicationContext server;
+    private final ConfigurableApplicationContext api;
+
+    private Deployment(ConfigurableApplicationContext server, ConfigurableApplicationContext api) {
+        this.server = server;
+        this.api = api;
+    }
+
+    static Deployment start(Scenario scenario) {
+        Map<String, String> serverProperties = new LinkedHashMap<>(SERVER_DEFAULTS);
+        serverProperties.putAll(scenario.serverProperties());
+        ConfigurableApplicationContext server = run(ServerApplication.class, "loadtest-server", serverProperties);
+        try {
+            Map<String, String> apiProperties = new LinkedHashMap<>(scenario.apiProperties());
+            apiProperties.put("employee.service.url", "http://localhost:" + port(server) + "/api/v1/employee");
+            return new Deployment(server, run(ApiApplication.class, "loadtest-api", apiProperties));
+        } catch (RuntimeException ex) {
+            server.close();
+            throw ex;
+        }
+    }
+
+    URI apiBase() {
+        return URI.create("http://localhost:" + port(api) + "/api/v1/employee");
+    }
+
+    /**
+     * Requests the mock server has handled so far, by method, route and status, from its own request metrics.
+     */
+    Map<String, Long> upstreamCalls() {
+        Map<String, Long> calls = new TreeMap<>();
+        for (Timer timer : server.getBean(MeterRegistry.class)
+                .find("http.server.requests")
+                .timers()) {
+            String route = timer.getId().getTag("uri");
+            if (route == null || !route.startsWith("/api/")) {
+                continue;
+            }
+            String key = timer.getId().getTag("method") + " " + route + " " + timer.getId().getTag("status");
+            calls.merge(key, timer.count(), Long::sum);
+        }
+        return calls;
+    }
+
+    double upstreamRejected() {
+        return server.getBean(MeterRegistry.class)
+                .find("mock.requests.rejected")
+                .counters()
+                .stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    @Override
+    public void close() {
+        try {
+            api.close();
+        } finally {
+            server.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext run(
+            Class<?> application, String configName, Map<String, String> properties) {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.config.name=" + configName);
+        args.add("--server.port=0");
+        QUIET.forEach((key, value) -> args.add("--" + key + "=" + value));
+        properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+        return new SpringApplicationBuilder(application)
+                .bannerMode(Banner.Mode.OFF)
+                .run(args.toArray(String[]::new));
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
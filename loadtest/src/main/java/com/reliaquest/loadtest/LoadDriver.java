@@ -0,0 +1,95 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Applies a scenario's load to the API for a while and records every call.
+ */
+final class LoadDriver {
+
+    private final Scenario scenario;
+    private final Workload workload;
+    private final HttpClient http;
+    private final AtomicLong seeds = new AtomicLong(42);
+
+    LoadDriver(Scenario scenario, Workload workload, HttpClient http) {
+        this.scenario = scenario;
+        this.workload = workload;
+        this.http = http;
+    }
+
+    void run(Duration duration, Results results) {
+        if (scenario.openLoop()) {
+            runOpenLoop(duration, results);
+        } else {
+            runClosedLoop(duration, results);
+        }
+    }
+
+    private void runClosedLoop(Duration duration, Results results) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ThreadFactory threads = scenario.virtualClients()
+                ? Thread.ofVirtual().name("client-", 0).factory()
+                : Thread.ofPlatform().name("client-", 0).daemon().factory();
+        try (ExecutorService clients = Executors.newThreadPerTaskExecutor(threads)) {
+            for (int i = 0; i < scenario.concurrency(); i++) {
+                SplittableRandom random = new SplittableRandom(seeds.getAndIncrement());
+                clients.execute(() -> {
+                    while (System.nanoTime() - deadline < 0) {
+                        Workload.Call call = workload.next(random);
+                        long started = System.nanoTime();
+                        send(call, started, results);
+                    }
+                });
+            }
+        }
+    }
+
+    /*
+     * Each request is due intervalNanos after the one before, and is timed from when it was due rather than from when
+     * it was sent, so that a backlog counts as latency.
+     */
+    private void runOpenLoop(Duration duration, Results results) {
+        long intervalNanos = (long) (1_000_000_000 / scenario.arrivalRate());
+        long start = System.nanoTime();
+        long requests = duration.toNanos() / intervalNanos;
+        SplittableRandom random = new SplittableRandom(seeds.getAndIncrement());
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < requests; i++) {
+                long due = start + i * intervalNanos;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Workload.Call call = workload.next(random);
+                clients.execute(() -> send(call, due, results));
+            }
+        }
+    }
+
+    private void send(Workload.Call call, long started, Results results) {
+        int status = 0;
+        try {
+            HttpResponse<byte[]> response = http.send(call.request(), HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            if (call.operation() == Operation.CREATE && status == 200) {
+                workload.created(response.body());
+            }
+        } catch (IOException ex) {
+            // Counted as an error below.
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        results.record(call.operation(), status, System.nanoTime() - started);
+    }
+}
@@ -0,0 +1,124 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load test: for each scenario, starts the mock server and the API, warms the API up, applies the scenario's
+ * load and reports latency percentiles, error and 429 rates, and the calls the API made upstream.
+ *
+ * <p>Arguments: {@code --scenarios=a,b} (default all), {@code --duration=PT30S}, {@code --warmup=PT10S} and
+ * {@code --output=build/loadtest}, where each scenario's full latency distribution is written as an .hgrm file.
+ */
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT30S"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        Path output = Path.of(options.getOrDefault("output", "build/loadtest"));
+        List<Scenario> scenarios = new ArrayList<>();
+        String names = options.getOrDefault("scenarios", String.join(",", Scenarios.ALL.keySet()));
+        for (String name : names.split(",")) {
+            Scenario scenario = Scenarios.ALL.get(name.trim());
+            if (scenario == null) {
+                throw new IllegalArgumentException("Unknown scenario " + name + "; known: " + Scenarios.ALL.keySet());
+            }
+            scenarios.add(scenario);
+        }
+        Files.createDirectories(output);
+        PrintStream out = System.out;
+        ObjectMapper mapper = new ObjectMapper();
+        try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(httpExecutor)
+                    .build();
+            for (Scenario scenario : scenarios) {
+                run(scenario, http, mapper, duration, warmup, output, out);
+            }
+        }
+    }
+
+    private static void run(
+            Scenario scenario,
+            HttpClient http,
+            ObjectMapper mapper,
+            Duration duration,
+            Duration warmup,
+            Path output,
+            PrintStream out)
+            throws IOException, InterruptedException {
+        out.printf("%n== %s: %s ==%n", scenario.name(), scenario.description());
+        out.println(scenario.openLoop()
+                ? "open loop, %.0f requests/s".formatted(scenario.arrivalRate())
+                : "closed loop, %d %s clients"
+                        .formatted(scenario.concurrency(), scenario.virtualClients() ? "virtual" : "platform"));
+        try (Deployment deployment = Deployment.start(scenario)) {
+            HttpResponse<byte[]> roster = http.send(
+                    HttpRequest.newBuilder(deployment.apiBase()).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (roster.statusCode() != 200) {
+                throw new IllegalStateException("Could not read the roster: " + roster.statusCode());
+            }
+            Workload workload = new Workload(deployment.apiBase(), mapper, scenario.mix(), roster.body());
+            LoadDriver driver = new LoadDriver(scenario, workload, http);
+
+            driver.run(warmup, new Results());
+            Map<String, Long> callsBefore = deployment.upstreamCalls();
+            double rejectedBefore = deployment.upstreamRejected();
+            Results results = new Results();
+            long started = System.nanoTime();
+            driver.run(duration, results);
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            results.print(out, seconds);
+            printUpstream(out, callsBefore, deployment.upstreamCalls(), deployment.upstreamRejected() - rejectedBefore);
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(output.resolve(scenario.name() + ".hgrm")))) {
+                results.all().outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+    }
+
+    private static void printUpstream(
+            PrintStream out, Map<String, Long> before, Map<String, Long> after, double rejected) {
+        long total = 0;
+        StringBuilder byRoute = new StringBuilder();
+        for (Map.Entry<String, Long> entry : after.entrySet()) {
+            long calls = entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+            if (calls > 0) {
+                total += calls;
+                byRoute.append("%n  %-48s %9d".formatted(entry.getKey(), calls));
+            }
+        }
+        out.printf("upstream calls: %d, rejected by the upstream: %.0f%s%n", total, rejected, byRoute);
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.loadtest;
+
+/**
+ * The API calls a scenario's mix is made of.
+ */
+enum Operation {
+    LIST,
+    SEARCH,
+    BY_ID,
+    HIGHEST_SALARY,
+    TOP_TEN,
+    CREATE,
+    DELETE
+}
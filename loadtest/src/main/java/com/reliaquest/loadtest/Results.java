@@ -0,0 +1,112 @@
+package com.reliaquest.loadtest;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms, in microseconds, and outcome counts per operation, safe to record into from every client at
+ * once.
+ */
+final class Results {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<Operation, Tally> tallies = new EnumMap<>(Operation.class);
+    private final Histogram all = histogram();
+
+    Results() {
+        for (Operation operation : Operation.values()) {
+            tallies.put(operation, new Tally());
+        }
+    }
+
+    /**
+     * Records one call; a {@code status} of 0 means it failed without a response.
+     */
+    void record(Operation operation, int status, long latencyNanos) {
+        long micros = Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        Tally tally = tallies.get(operation);
+        tally.latency.recordValue(micros);
+        all.recordValue(micros);
+        if (status >= 200 && status < 300) {
+            tally.ok.increment();
+        } else if (status == 429) {
+            tally.tooManyRequests.increment();
+        } else if (status == 404) {
+            tally.notFound.increment();
+        } else {
+            tally.errors.increment();
+        }
+    }
+
+    Histogram all() {
+        return all;
+    }
+
+    void print(PrintStream out, double seconds) {
+        out.printf(
+                "%-16s %9s %9s %9s %9s %9s %9s %9s %8s %8s %8s%n",
+                "operation",
+                "count",
+                "req/s",
+                "p50 ms",
+                "p90 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "max ms",
+                "errors",
+                "429",
+                "404");
+        tallies.forEach((operation, tally) -> {
+            if (tally.latency.getTotalCount() > 0) {
+                print(out, operation.name(), tally.latency, seconds, tally);
+            }
+        });
+        Tally total = new Tally();
+        tallies.values().forEach(tally -> {
+            total.ok.add(tally.ok.sum());
+            total.tooManyRequests.add(tally.tooManyRequests.sum());
+            total.notFound.add(tally.notFound.sum());
+            total.errors.add(tally.errors.sum());
+        });
+        print(out, "all", all, seconds, total);
+    }
+
+    private static void print(PrintStream out, String label, Histogram latency, double seconds, Tally tally) {
+        long count = latency.getTotalCount();
+        out.printf(
+                "%-16s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7.2f%% %7.2f%% %7.2f%%%n",
+                label,
+                count,
+                count / seconds,
+                latency.getValueAtPercentile(50) / 1000.0,
+                latency.getValueAtPercentile(90) / 1000.0,
+                latency.getValueAtPercentile(99) / 1000.0,
+                latency.getValueAtPercentile(99.9) / 1000.0,
+                latency.getMaxValue() / 1000.0,
+                percent(tally.errors.sum(), count),
+                percent(tally.tooManyRequests.sum(), count),
+                percent(tally.notFound.sum(), count));
+    }
+
+    private static double percent(long part, long count) {
+        return count == 0 ? 0 : 100.0 * part / count;
+    }
+
+    private static Histogram histogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    }
+
+    private static final class Tally {
+        private final Histogram latency = histogram();
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder tooManyRequests = new LongAdder();
+        private final LongAdder notFound = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.loadtest;
+
+import java.util.Map;
+import lombok.Builder;
+import lombok.Singular;
+
+/**
+ * One load-test run: the mix of operations, how load is applied, and the properties both applications start with on
+ * top of their own application.yml.
+ *
+ * <p>With an {@code arrivalRate} the load is open-loop: requests start on schedule whether or not earlier ones have
+ * finished, and latency counts from the scheduled start, so a stalled API shows up as latency instead of as fewer
+ * requests. Otherwise {@code concurrency} clients each send their next request as soon as the last one completes.
+ */
+@Builder(toBuilder = true)
+record Scenario(
+        String name,
+        String description,
+        @Singular("weight") Map<Operation, Integer> mix,
+        int concurrency,
+        boolean virtualClients,
+        double arrivalRate,
+        @Singular Map<String, String> serverProperties,
+        @Singular Map<String, String> apiProperties) {
+
+    boolean openLoop() {
+        return arrivalRate > 0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The scenarios the harness knows, in the order it runs them by default.
+ */
+final class Scenarios {
+
+    private static final Scenario READS = Scenario.builder()
+            .weight(Operation.LIST, 5)
+            .weight(Operation.SEARCH, 30)
+            .weight(Operation.BY_ID, 45)
+            .weight(Operation.HIGHEST_SALARY, 10)
+            .weight(Operation.TOP_TEN, 10)
+            .build();
+
+    private static final Scenario WRITES = Scenario.builder()
+            .weight(Operation.SEARCH, 20)
+            .weight(Operation.BY_ID, 20)
+            .weight(Operation.CREATE, 40)
+            .weight(Operation.DELETE, 20)
+            .build();
+
+    static final Map<String, Scenario> ALL = byName(List.of(
+            READS.toBuilder()
+                    .name("read-heavy")
+                    .description("Reads answered from the cached roster")
+                    .concurrency(64)
+                    .build(),
+            READS.toBuilder()
+                    .name("mixed")
+                    .description("Reads with one write in ten, each a call upstream")
+                    .weight(Operation.CREATE, 7)
+                    .weight(Operation.DELETE, 3)
+                    .concurrency(64)
+                    .build(),
+            READS.toBuilder()
+                    .name("open-loop")
+                    .description("Reads arriving at a fixed rate, however slow the API gets")
+                    .arrivalRate(2_000)
+                    .build(),
+            WRITES.toBuilder()
+                    .name("throttled")
+                    .description("Writes against an upstream limited to 100 requests/s")
+                    .concurrency(32)
+                    .serverProperty("mock.throttle.profile", "token-bucket")
+                    .serverProperty("mock.throttle.limit", "50")
+                    .serverProperty("mock.throttle.rate", "100")
+                    .build(),
+            // The transport pair runs the same write-heavy load over each Feign client, for throughput and p99.
+            WRITES.toBuilder()
+                    .name("transport-jdk")
+                    .description("Writes over the java.net.http transport")
+                    .concurrency(64)
+                    .apiProperty("employee.client.transport.type", "jdk")
+                    .build(),
+            WRITES.toBuilder()
+                    .name("transport-default")
+                    .description("Writes over Feign's HttpURLConnection transport")
+                    .concurrency(64)
+                    .apiProperty("employee.client.transport.type", "default")
+                    .build(),
+            READS.toBuilder()
+                    .name("virtual-threads-10k")
+                    .description("10,000 concurrent clients against the API on virtual threads")
+                    .concurrency(10_000)
+                    .virtualClients(true)
+                    .apiProperty("spring.threads.virtual.enabled", "true")
+                    .apiProperty("server.tomcat.max-connections", "20000")
+                    .apiProperty("server.tomcat.accept-count", "10000")
+                    .build()));
+
+    private Scenarios() {}
+
+    private static Map<String, Scenario> byName(List<Scenario> scenarios) {
+        Map<String, Scenario> byName = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> byName.put(scenario.name(), scenario));
+        return byName;
+    }
+}
@@ -0,0 +1,118 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Turns a scenario's mix into requests against the API. Reads pick ids and name fragments from the roster as it was
+ * when the run started; deletes take employees created earlier in the run, and create one instead while there are
+ * none.
+ */
+final class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI base;
+    private final ObjectMapper mapper;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final List<String> ids;
+    private final List<String> fragments;
+    private final ConcurrentLinkedQueue<String> created = new ConcurrentLinkedQueue<>();
+
+    Workload(URI base, ObjectMapper mapper, Map<Operation, Integer> mix, byte[] roster) throws IOException {
+        this.base = base;
+        this.mapper = mapper;
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.ids = new ArrayList<>();
+        this.fragments = new ArrayList<>();
+        for (JsonNode employee : mapper.readTree(roster)) {
+            ids.add(employee.path("id").asText());
+            String name = employee.path("employee_name").asText("");
+            if (name.length() >= 3) {
+                fragments.add(name.substring(0, 3));
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("The API returned an empty roster");
+        }
+    }
+
+    record Call(Operation operation, HttpRequest request) {}
+
+    Call next(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (cumulativeWeights[index] <= pick) {
+            index++;
+        }
+        Operation operation = operations[index];
+        return switch (operation) {
+            case LIST -> new Call(operation, get(""));
+            case SEARCH -> {
+                String fragment = fragments.get(random.nextInt(fragments.size()));
+                String path = URLEncoder.encode(fragment, StandardCharsets.UTF_8).replace("+", "%20");
+                yield new Call(operation, get("/search/" + path));
+            }
+            case BY_ID -> new Call(operation, get("/" + ids.get(random.nextInt(ids.size()))));
+            case HIGHEST_SALARY -> new Call(operation, get("/highestSalary"));
+            case TOP_TEN -> new Call(operation, get("/topTenHighestEarningEmployeeNames"));
+            case DELETE -> {
+                String id = created.poll();
+                yield id != null ? new Call(operation, request("/" + id).DELETE().build()) : create(random);
+            }
+            case CREATE -> create(random);
+        };
+    }
+
+    /**
+     * Remembers the employee a successful create returned, for a later delete.
+     */
+    void created(byte[] body) {
+        try {
+            String id = mapper.readTree(body).path("id").asText(null);
+            if (id != null) {
+                created.add(id);
+            }
+        } catch (IOException ex) {
+            // Not an employee; nothing to delete later.
+        }
+    }
+
+    private Call create(SplittableRandom random) {
+        String body = """
+                {"name":"Load Test %d","salary":%d,"age":%d,"title":"Load Tester"}"""
+                .formatted(random.nextInt(1_000_000), random.nextInt(30_000, 300_000), random.nextInt(18, 70));
+        return new Call(
+                Operation.CREATE,
+                request("")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build());
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(base + path)).timeout(REQUEST_TIMEOUT);
+    }
+}
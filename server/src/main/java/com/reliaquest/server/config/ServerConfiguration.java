@@ -1,27 +1,28 @@
 package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import com.reliaquest.server.persistence.RosterPersistence;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
-public class ServerConfiguration implements WebMvcConfigurer {
+public class ServerConfiguration {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
@@ -30,30 +31,50 @@ public class ServerConfiguration implements WebMvcConfigurer {
         return new Faker(Locale.getDefault());
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "mock.persistence.enabled", havingValue = "true")
+    public RosterPersistence rosterPersistence(
+            @Value("${mock.persistence.directory:data}") Path directory,
+            @Value("${mock.persistence.fsync-interval:PT0.05S}") Duration fsyncInterval,
+            @Value("${mock.persistence.compact-interval:PT5M}") Duration compactInterval) {
+        return new RosterPersistence(directory, fsyncInterval, compactInterval);
+    }
+
     /*
-     * This list is modifiable by design for CRUD operations.
+     * The store is modifiable by design for CRUD operations. Without mock.employees.seed each run picks, and logs, a
+     * seed of its own; rerunning with that seed reproduces the roster exactly. With persistence enabled, a roster found
+     * on disk is used instead of a generated one, and every later write is logged.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public MockEmployeeStore mockEmployeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.change-log-size:" + MockEmployeeStore.DEFAULT_CHANGE_LOG_SIZE + "}")
+                    int changeLogSize,
+            ObjectProvider<RosterPersistence> rosterPersistence)
+            throws IOException {
+        final var persistence = rosterPersistence.getIfAvailable();
+        final var recovered = persistence != null ? persistence.recover() : Optional.<List<MockEmployee>>empty();
+        final var store =
+                new MockEmployeeStore(recovered.orElseGet(() -> generate(maxEmployees, seed)), changeLogSize);
+        if (persistence != null) {
+            persistence.attach(store);
+        }
+        return store;
     }
 
-    @Override
-    public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+    private static List<MockEmployee> generate(int maxEmployees, Long seed) {
+        final long rosterSeed = seed != null ? seed : RandomGenerator.getDefault().nextLong();
+        final long started = System.nanoTime();
+        final var employees = MockEmployeeGenerator.generate(rosterSeed, maxEmployees);
+        log.info(
+                "Generated {} employees from seed {} in {} ms",
+                employees.size(),
+                rosterSeed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        if (log.isTraceEnabled()) {
+            employees.forEach(mockEmployee -> log.trace("Created employee: {}", mockEmployee));
+        }
+        return employees;
     }
 }
@@ -0,0 +1,97 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.web.BurstBackoffThrottle;
+import com.reliaquest.server.web.FixedWindowThrottle;
+import com.reliaquest.server.web.LatencyProfile;
+import com.reliaquest.server.web.RequestThrottle;
+import com.reliaquest.server.web.ThrottlingInterceptor;
+import com.reliaquest.server.web.TokenBucketThrottle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Picks how the mock server throttles and slows down requests, so that load tests against it can be repeated. See
+ * {@code mock.throttle} and {@code mock.latency} in application.yml.
+ */
+@Slf4j
+@Configuration
+public class ThrottleConfiguration {
+
+    @Bean
+    public RequestThrottle requestThrottle(
+            @Value("${mock.throttle.profile:random}") String profile,
+            @Value("${mock.throttle.seed:#{null}}") Long seed,
+            @Value("${mock.throttle.limit:10}") int limit,
+            @Value("${mock.throttle.window:PT1M}") Duration window,
+            @Value("${mock.throttle.rate:5}") double rate,
+            @Value("${mock.throttle.stripes:64}") int stripes) {
+        return switch (profile) {
+            case "random" -> {
+                final long throttleSeed = seed != null ? seed : RandomGenerator.getDefault().nextLong();
+                final var throttle = BurstBackoffThrottle.random(throttleSeed, System::nanoTime);
+                log.info(
+                        "Throttling to {} requests, then {} off, from seed {}",
+                        throttle.getLimit(),
+                        throttle.getBackoff(),
+                        throttleSeed);
+                yield throttle;
+            }
+            case "fixed-window" -> {
+                log.info("Throttling to {} requests per {}", limit, window);
+                yield new FixedWindowThrottle(limit, window, System::nanoTime);
+            }
+            case "token-bucket" -> {
+                log.info("Throttling to a bucket of {} requests refilled at {}/s", limit, rate);
+                yield new TokenBucketThrottle(limit, rate, 1, System::nanoTime);
+            }
+            case "per-client" -> {
+                log.info("Throttling each client to a bucket of {} requests refilled at {}/s", limit, rate);
+                yield new TokenBucketThrottle(limit, rate, stripes, System::nanoTime);
+            }
+            case "off" -> RequestThrottle.OFF;
+            default -> throw new IllegalArgumentException("Unknown mock.throttle.profile: " + profile);
+        };
+    }
+
+    @Bean
+    public LatencyProfile latencyProfile(
+            @Value("${mock.latency.profile:none}") String profile,
+            @Value("${mock.latency.min:PT0S}") Duration min,
+            @Value("${mock.latency.max:PT1S}") Duration max,
+            @Value("${mock.latency.mean:PT0.05S}") Duration mean) {
+        return switch (profile) {
+            case "none" -> LatencyProfile.NONE;
+            case "fixed" -> LatencyProfile.fixed(min);
+            case "uniform" -> LatencyProfile.uniform(min, max);
+            case "exponential" -> LatencyProfile.exponential(mean, max);
+            default -> throw new IllegalArgumentException("Unknown mock.latency.profile: " + profile);
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer throttlingConfigurer(
+            RequestThrottle requestThrottle,
+            LatencyProfile latencyProfile,
+            MeterRegistry meterRegistry,
+            @Value("${mock.throttle.profile:random}") String profile) {
+        final var rejected = Counter.builder("mock.requests.rejected")
+                .description("Requests answered with 429 Too Many Requests")
+                .tag("profile", profile)
+                .register(meterRegistry);
+        final var interceptor = new ThrottlingInterceptor(requestThrottle, latencyProfile, rejected);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
@@ -3,20 +3,26 @@ package com.reliaquest.server.controller;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.SerializedRosterCache;
 import jakarta.validation.Valid;
-import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -24,18 +30,71 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    private static final int DEFAULT_PAGE_SIZE = 1_000;
+    private static final int MAX_PAGE_SIZE = 10_000;
+
+    public static final String ROSTER_EPOCH_HEADER = "X-Roster-Epoch";
+    public static final String ROSTER_VERSION_HEADER = "X-Roster-Version";
+
     private final MockEmployeeService mockEmployeeService;
+    private final SerializedRosterCache serializedRosterCache;
 
+    /*
+     * Serves the roster's cached JSON, or its cached gzip when the client accepts it. A response that already has a
+     * Content-Encoding is left alone by the container's own compression. Spring answers 304 Not Modified instead when
+     * If-None-Match carries the current ETag. The epoch and version headers are where a client's /changes polling
+     * starts from.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<byte[]> getEmployees(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        final var roster = serializedRosterCache.get();
+        final var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(roster.getEtag())
+                .header(ROSTER_EPOCH_HEADER, roster.getEpoch())
+                .header(ROSTER_VERSION_HEADER, Long.toString(roster.getVersion()))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(roster.getGzip());
+        }
+        return response.body(roster.getJson());
+    }
+
+    /*
+     * Pages through the roster in insertion order. The cursor is the sequence number of the last employee already
+     * read, so pages stay stable while employees are added or deleted; until bounds a range so that clients can fetch
+     * several ranges in parallel.
+     */
+    @GetMapping("/page")
+    public Response<MockEmployeePage> getEmployeePage(
+            @RequestParam(defaultValue = "0") long cursor,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long until,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return Response.handledWith(mockEmployeeService.getPage(cursor, until, pageSize));
+    }
+
+    /*
+     * The creates and deletes made since version since of the given epoch, oldest first. 410 Gone means they are no
+     * longer known, because the server restarted or the change log has moved on, and the client must reread the roster.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<MockEmployeeChanges>> getChanges(
+            @RequestParam String epoch, @RequestParam long since) {
+        return mockEmployeeService
+                .getChanges(epoch, since)
+                .map(changes -> ResponseEntity.ok(Response.handledWith(changes)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).body(Response.handled()));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
         return mockEmployeeService
                 .findById(uuid)
-                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .map(employee -> ResponseEntity.ok()
+                        .eTag(mockEmployeeService.etagOf(employee))
+                        .body(Response.handledWith(employee)))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
@@ -48,4 +107,17 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
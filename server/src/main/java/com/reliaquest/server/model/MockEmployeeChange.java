@@ -0,0 +1,12 @@
+package com.reliaquest.server.model;
+
+/**
+ * One write to the roster: the store version it produced, and the employee created (or replaced) or deleted.
+ */
+public record MockEmployeeChange(long version, Operation operation, MockEmployee employee) {
+
+    public enum Operation {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * The writes made after a given version of one store {@code epoch}, oldest first. Applying them brings a copy of the
+ * roster up to {@code version}.
+ */
+public record MockEmployeeChanges(String epoch, long version, List<MockEmployeeChange> changes) {}
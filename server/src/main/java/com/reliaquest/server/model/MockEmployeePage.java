@@ -0,0 +1,12 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.util.List;
+
+/**
+ * One page of the roster in insertion order. {@code nextCursor} is null once the requested range is exhausted;
+ * {@code lastCursor} is the newest sequence number in the store when the page was read.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record MockEmployeePage(List<MockEmployee> employees, Long nextCursor, long lastCursor) {}
@@ -0,0 +1,341 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the roster on disk as a binary snapshot plus an append-only log of the creates and deletes made since.
+ *
+ * <p>Log records are {@code [length][crc32][op][employee or id]}, so a torn write at the tail is detected and cut off
+ * on recovery. Appends go to the OS straight away and are fsynced together every {@code fsyncInterval}; a zero
+ * interval fsyncs each append. Every {@code compactInterval} the log is rotated to a new generation with writers held
+ * off, the roster as of the rotation is written to a new snapshot, and the older logs are deleted. The snapshot names
+ * the first log generation not folded into it, so a crash at any point recovers from the newest complete snapshot and
+ * the logs after it.
+ */
+@Slf4j
+public class RosterPersistence implements MockEmployeeStore.MutationListener, Closeable {
+
+    private static final int MAGIC = 0x4D454D50;
+    private static final int FORMAT_VERSION = 1;
+    private static final byte ADDED = 1;
+    private static final byte REMOVED = 2;
+    private static final String SNAPSHOT_FILE = "roster.snapshot";
+    private static final Pattern LOG_FILE = Pattern.compile("roster-(\\d+)\\.log");
+
+    private final Path directory;
+    private final Duration fsyncInterval;
+    private final Duration compactInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "roster-persistence");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private MockEmployeeStore store;
+
+    // Guarded by this.
+    private long generation;
+    private long validLength;
+    private FileChannel logChannel;
+    private long appended;
+    private boolean unsynced;
+
+    public RosterPersistence(Path directory, Duration fsyncInterval, Duration compactInterval) {
+        this.directory = directory;
+        this.fsyncInterval = fsyncInterval;
+        this.compactInterval = compactInterval;
+    }
+
+    /**
+     * Reads the newest snapshot and replays the logs written after it, or returns empty if nothing has been persisted
+     * yet.
+     */
+    public synchronized Optional<List<MockEmployee>> recover() throws IOException {
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshotFile)) {
+            return Optional.empty();
+        }
+        long started = System.nanoTime();
+        MappedByteBuffer snapshot = map(snapshotFile);
+        if (snapshot.getInt() != MAGIC || snapshot.getInt() != FORMAT_VERSION) {
+            throw new IOException("Not a roster snapshot: " + snapshotFile);
+        }
+        generation = snapshot.getLong();
+        int count = snapshot.getInt();
+        Map<UUID, MockEmployee> employees = new LinkedHashMap<>((int) (count / 0.75f) + 1);
+        for (int i = 0; i < count; i++) {
+            MockEmployee employee = EmployeeCodec.read(snapshot);
+            employees.put(employee.getId(), employee);
+        }
+        int loaded = employees.size();
+        long replayed = 0;
+        for (Path logFile : logFiles()) {
+            long logGeneration = generationOf(logFile);
+            if (logGeneration >= generation) {
+                generation = logGeneration;
+                replayed += replay(logFile, employees);
+            }
+        }
+        appended = replayed;
+        log.info(
+                "Recovered {} employees ({} from snapshot, {} log records) in {} ms",
+                employees.size(),
+                loaded,
+                replayed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return Optional.of(new ArrayList<>(employees.values()));
+    }
+
+    /**
+     * Starts logging the store's writes. Writes an initial snapshot if {@link #recover} found none.
+     */
+    public void attach(MockEmployeeStore store) throws IOException {
+        synchronized (this) {
+            this.store = store;
+            Files.createDirectories(directory);
+            if (!Files.exists(directory.resolve(SNAPSHOT_FILE))) {
+                writeSnapshot(store.snapshot().employees(), generation);
+            }
+            logChannel = FileChannel.open(
+                    logFile(generation), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+            // Drop whatever recovery found unreadable at the tail before appending after it.
+            logChannel.truncate(validLength);
+            logChannel.position(validLength);
+        }
+        store.setMutationListener(this);
+        if (!fsyncInterval.isZero()) {
+            long period = fsyncInterval.toNanos();
+            scheduler.scheduleAtFixedRate(this::sync, period, period, TimeUnit.NANOSECONDS);
+        }
+        if (!compactInterval.isZero()) {
+            long period = compactInterval.toNanos();
+            scheduler.scheduleWithFixedDelay(this::compactQuietly, period, period, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void added(MockEmployee employee) {
+        append(ADDED, employee, null);
+    }
+
+    @Override
+    public void removed(MockEmployee employee) {
+        append(REMOVED, null, employee.getId());
+    }
+
+    /**
+     * Folds the log into a new snapshot. Does nothing if nothing was written since the last one.
+     */
+    public void compact() throws IOException {
+        record Rotation(List<MockEmployee> employees, long generation, boolean empty) {}
+        Rotation rotation = store.withWritesPaused(snapshot -> {
+            synchronized (this) {
+                if (appended == 0) {
+                    return new Rotation(List.of(), generation, true);
+                }
+                try {
+                    logChannel.force(false);
+                    logChannel.close();
+                    generation++;
+                    logChannel = FileChannel.open(
+                            logFile(generation), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                    appended = 0;
+                    unsynced = false;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                return new Rotation(snapshot.employees(), generation, false);
+            }
+        });
+        if (rotation.empty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        writeSnapshot(rotation.employees(), rotation.generation());
+        for (Path logFile : logFiles()) {
+            if (generationOf(logFile) < rotation.generation()) {
+                Files.deleteIfExists(logFile);
+            }
+        }
+        log.info(
+                "Compacted {} employees into snapshot generation {} in {} ms",
+                rotation.employees().size(),
+                rotation.generation(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        synchronized (this) {
+            if (logChannel != null && logChannel.isOpen()) {
+                logChannel.force(false);
+                logChannel.close();
+            }
+        }
+    }
+
+    private synchronized void append(byte op, MockEmployee employee, UUID id) {
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(payload);
+            out.writeByte(op);
+            if (employee != null) {
+                EmployeeCodec.write(out, employee);
+            } else {
+                EmployeeCodec.writeId(out, id);
+            }
+            byte[] bytes = payload.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            ByteBuffer record = ByteBuffer.allocate(8 + bytes.length)
+                    .putInt(bytes.length)
+                    .putInt((int) crc.getValue())
+                    .put(bytes)
+                    .flip();
+            while (record.hasRemaining()) {
+                logChannel.write(record);
+            }
+            appended++;
+            if (fsyncInterval.isZero()) {
+                logChannel.force(false);
+            } else {
+                unsynced = true;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not log roster change", ex);
+        }
+    }
+
+    private synchronized void sync() {
+        if (!unsynced) {
+            return;
+        }
+        try {
+            logChannel.force(false);
+            unsynced = false;
+        } catch (IOException ex) {
+            log.error("Could not fsync roster log", ex);
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException ex) {
+            log.error("Roster compaction failed", ex);
+        }
+    }
+
+    private void writeSnapshot(List<MockEmployee> employees, long logGeneration) throws IOException {
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(logGeneration);
+            out.writeInt(employees.size());
+            for (MockEmployee employee : employees) {
+                EmployeeCodec.write(out, employee);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(
+                temporary,
+                directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private long replay(Path logFile, Map<UUID, MockEmployee> employees) throws IOException {
+        MappedByteBuffer in = map(logFile);
+        CRC32 crc = new CRC32();
+        long records = 0;
+        while (in.remaining() >= 8) {
+            int start = in.position();
+            int length = in.getInt();
+            int checksum = in.getInt();
+            if (length <= 0 || length > in.remaining()) {
+                in.position(start);
+                break;
+            }
+            ByteBuffer payload = in.slice(in.position(), length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                in.position(start);
+                break;
+            }
+            if (payload.get() == ADDED) {
+                MockEmployee employee = EmployeeCodec.read(payload);
+                employees.put(employee.getId(), employee);
+            } else {
+                employees.remove(EmployeeCodec.readId(payload));
+            }
+            in.position(in.position() + length);
+            records++;
+        }
+        if (in.hasRemaining()) {
+            log.warn("Ignoring {} unreadable bytes at the end of {}", in.remaining(), logFile);
+        }
+        validLength = in.position();
+        return records;
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private List<Path> logFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> LOG_FILE.matcher(file.getFileName().toString()).matches())
+                    .sorted((a, b) -> Long.compare(generationOf(a), generationOf(b)))
+                    .toList();
+        }
+    }
+
+    private Path logFile(long logGeneration) {
+        return directory.resolve("roster-" + logGeneration + ".log");
+    }
+
+    private static long generationOf(Path logFile) {
+        Matcher matcher = LOG_FILE.matcher(logFile.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a roster log: " + logFile);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,210 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable roster in insertion order, with each employee's ascending insertion sequence number, held as chunks of at
+ * most {@value #CHUNK} employees. A write returns a new roster that copies the one chunk it touches and the table of
+ * chunk references; every other chunk is shared with the roster it came from.
+ */
+final class ChunkedRoster extends AbstractList<MockEmployee> implements RandomAccess {
+
+    static final int CHUNK = 256;
+
+    static final ChunkedRoster EMPTY = new ChunkedRoster(new Chunk[0]);
+
+    private final Chunk[] chunks;
+    // ends[c] is the number of employees in chunks 0 to c.
+    private final int[] ends;
+
+    private ChunkedRoster(Chunk[] chunks) {
+        this.chunks = chunks;
+        this.ends = new int[chunks.length];
+        int total = 0;
+        for (int c = 0; c < chunks.length; c++) {
+            total += chunks[c].employees().length;
+            ends[c] = total;
+        }
+    }
+
+    /**
+     * Builds a roster of {@code employees}, numbered in order from {@code firstSequence}.
+     */
+    static ChunkedRoster of(Collection<MockEmployee> employees, long firstSequence) {
+        MockEmployee[] all = employees.toArray(new MockEmployee[0]);
+        Chunk[] chunks = new Chunk[(all.length + CHUNK - 1) / CHUNK];
+        for (int c = 0; c < chunks.length; c++) {
+            int from = c * CHUNK;
+            int to = Math.min(all.length, from + CHUNK);
+            long[] sequences = new long[to - from];
+            for (int i = 0; i < sequences.length; i++) {
+                sequences[i] = firstSequence + from + i;
+            }
+            chunks[c] = new Chunk(Arrays.copyOfRange(all, from, to), sequences);
+        }
+        return new ChunkedRoster(chunks);
+    }
+
+    @Override
+    public int size() {
+        return ends.length == 0 ? 0 : ends[ends.length - 1];
+    }
+
+    @Override
+    public MockEmployee get(int position) {
+        Objects.checkIndex(position, size());
+        int c = chunkAt(position);
+        return chunks[c].employees()[position - start(c)];
+    }
+
+    @Override
+    public Iterator<MockEmployee> iterator() {
+        return new Iterator<>() {
+            private int chunk;
+            private int offset;
+
+            @Override
+            public boolean hasNext() {
+                return chunk < chunks.length;
+            }
+
+            @Override
+            public MockEmployee next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                MockEmployee[] employees = chunks[chunk].employees();
+                MockEmployee next = employees[offset++];
+                if (offset == employees.length) {
+                    chunk++;
+                    offset = 0;
+                }
+                return next;
+            }
+        };
+    }
+
+    long sequenceAt(int position) {
+        int c = chunkAt(position);
+        return chunks[c].sequences()[position - start(c)];
+    }
+
+    long lastSequence() {
+        if (chunks.length == 0) {
+            return 0;
+        }
+        long[] sequences = chunks[chunks.length - 1].sequences();
+        return sequences[sequences.length - 1];
+    }
+
+    /**
+     * Returns the position of the first employee with a sequence number after {@code sequence}, or the size if there
+     * is none.
+     */
+    int firstAfter(long sequence) {
+        int low = 0;
+        int high = chunks.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long[] sequences = chunks[mid].sequences();
+            if (sequences[sequences.length - 1] > sequence) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        if (low == chunks.length) {
+            return size();
+        }
+        int found = Arrays.binarySearch(chunks[low].sequences(), sequence);
+        return start(low) + (found >= 0 ? found + 1 : -found - 1);
+    }
+
+    int positionOf(long sequence) {
+        return firstAfter(sequence - 1);
+    }
+
+    ChunkedRoster appended(MockEmployee employee, long sequence) {
+        int last = chunks.length - 1;
+        if (last < 0 || chunks[last].employees().length == CHUNK) {
+            return splice(chunks.length, 0, new Chunk(new MockEmployee[] {employee}, new long[] {sequence}));
+        }
+        Chunk chunk = chunks[last];
+        int length = chunk.employees().length;
+        MockEmployee[] employees = Arrays.copyOf(chunk.employees(), length + 1);
+        long[] sequences = Arrays.copyOf(chunk.sequences(), length + 1);
+        employees[length] = employee;
+        sequences[length] = sequence;
+        return splice(last, 1, new Chunk(employees, sequences));
+    }
+
+    ChunkedRoster replaced(int position, MockEmployee employee) {
+        int c = chunkAt(position);
+        MockEmployee[] employees = chunks[c].employees().clone();
+        employees[position - start(c)] = employee;
+        return splice(c, 1, new Chunk(employees, chunks[c].sequences()));
+    }
+
+    ChunkedRoster removed(int position) {
+        int c = chunkAt(position);
+        int offset = position - start(c);
+        Chunk chunk = chunks[c];
+        int length = chunk.employees().length;
+        if (length == 1) {
+            return splice(c, 1);
+        }
+        // A chunk worn down to a quarter takes in the next one, so removals do not leave the roster in slivers.
+        Chunk next = c + 1 < chunks.length && length - 1 < CHUNK / 4 ? chunks[c + 1] : null;
+        int merged = next != null && length - 1 + next.employees().length <= CHUNK ? next.employees().length : 0;
+        MockEmployee[] employees = new MockEmployee[length - 1 + merged];
+        long[] sequences = new long[employees.length];
+        System.arraycopy(chunk.employees(), 0, employees, 0, offset);
+        System.arraycopy(chunk.employees(), offset + 1, employees, offset, length - offset - 1);
+        System.arraycopy(chunk.sequences(), 0, sequences, 0, offset);
+        System.arraycopy(chunk.sequences(), offset + 1, sequences, offset, length - offset - 1);
+        if (merged > 0) {
+            System.arraycopy(next.employees(), 0, employees, length - 1, merged);
+            System.arraycopy(next.sequences(), 0, sequences, length - 1, merged);
+            return splice(c, 2, new Chunk(employees, sequences));
+        }
+        return splice(c, 1, new Chunk(employees, sequences));
+    }
+
+    // Replaces count chunks from from with replacements.
+    private ChunkedRoster splice(int from, int count, Chunk... replacements) {
+        Chunk[] next = new Chunk[chunks.length - count + replacements.length];
+        System.arraycopy(chunks, 0, next, 0, from);
+        System.arraycopy(replacements, 0, next, from, replacements.length);
+        System.arraycopy(chunks, from + count, next, from + replacements.length, chunks.length - from - count);
+        return new ChunkedRoster(next);
+    }
+
+    // The chunk holding position, which must be in range.
+    private int chunkAt(int position) {
+        int low = 0;
+        int high = ends.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] > position) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private int start(int c) {
+        return c == 0 ? 0 : ends[c - 1];
+    }
+
+    /** Never empty; both arrays are the same length and never written once the chunk is published. */
+    private record Chunk(MockEmployee[] employees, long[] sequences) {}
+}
@@ -0,0 +1,61 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+
+/**
+ * Generates a roster that is fully determined by its seed. The roster is cut into fixed-size chunks, each with its own
+ * {@link Faker} seeded from the roster seed and the chunk number, so chunks are generated in parallel across cores and
+ * still come out the same on every run and machine.
+ */
+public final class MockEmployeeGenerator {
+
+    static final int CHUNK_SIZE = 10_000;
+
+    private MockEmployeeGenerator() {}
+
+    public static List<MockEmployee> generate(long seed, int count) {
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<List<MockEmployee>> generated = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> generateChunk(seed, chunk, Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE)))
+                .toList();
+        List<MockEmployee> employees = new ArrayList<>(count);
+        generated.forEach(employees::addAll);
+        return employees;
+    }
+
+    private static List<MockEmployee> generateChunk(long seed, int chunk, int size) {
+        // Scramble seed and chunk together; java.util.Random seeds that differ by one start out correlated.
+        Random random = new Random(new SplittableRandom(seed + chunk * 0x9E3779B97F4A7C15L).nextLong());
+        Faker faker = new Faker(Locale.US, random);
+        List<MockEmployee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(randomUuid(random))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase(Locale.ROOT)))
+                    .build());
+        }
+        return employees;
+    }
+
+    // A version 4 UUID, like UUID.randomUUID(), but drawn from the chunk's seeded generator.
+    private static UUID randomUuid(Random random) {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(most, least);
+    }
+}
@@ -0,0 +1,308 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import lombok.NonNull;
+
+/**
+ * Copy-on-write employee store. Readers take the current {@link Snapshot} from a volatile field and never lock, so a
+ * list being serialized cannot change underneath them. Writers are serialized and publish a new snapshot with a new
+ * version. A new snapshot shares almost all of its structure with the one before it: the roster is held in fixed-size
+ * chunks and only the chunk a write touches is copied, and the id and name indexes are persistent maps. A write
+ * therefore costs one chunk and the table of chunk references, a few hundred times smaller than the roster, plus a few
+ * short paths through the maps.
+ *
+ * <p>Every employee gets an insertion sequence number that is never reused, which is what page cursors point at.
+ *
+ * <p>The last {@code changeLogSize} writes are also kept in a ring, indexed by the version each produced, so that a
+ * client holding an older version can catch up from {@link #changesSince} instead of rereading the roster. Versions
+ * start over with every store, so they are only comparable within one {@link #epoch()}.
+ *
+ * <p>A {@link MutationListener} sees each write inside the write lock, before the write is published, so it sees
+ * writes in the order readers do and can veto one by throwing.
+ */
+public class MockEmployeeStore {
+
+    public static final int DEFAULT_CHANGE_LOG_SIZE = 10_000;
+
+    /**
+     * Immutable view of the store as of one version. Employees are in insertion order, each with an ascending
+     * insertion sequence number; the name index keeps the sequence numbers per case-folded name, ascending too.
+     */
+    public static final class Snapshot {
+
+        private final long version;
+        private final ChunkedRoster employees;
+        private final PersistentMap<UUID, Long> sequenceById;
+        private final PersistentMap<String, long[]> sequencesByName;
+
+        private Snapshot(
+                long version,
+                ChunkedRoster employees,
+                PersistentMap<UUID, Long> sequenceById,
+                PersistentMap<String, long[]> sequencesByName) {
+            this.version = version;
+            this.employees = employees;
+            this.sequenceById = sequenceById;
+            this.sequencesByName = sequencesByName;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public List<MockEmployee> employees() {
+            return employees;
+        }
+
+        public Optional<MockEmployee> findById(@NonNull UUID id) {
+            Long sequence = sequenceById.get(id);
+            return sequence == null ? Optional.empty() : Optional.of(employees.get(employees.positionOf(sequence)));
+        }
+
+        /**
+         * Returns the earliest added employee whose name matches ignoring case.
+         */
+        public Optional<MockEmployee> findFirstByName(@NonNull String name) {
+            long[] sequences = sequencesByName.get(fold(name));
+            return sequences == null
+                    ? Optional.empty()
+                    : Optional.of(employees.get(employees.positionOf(sequences[0])));
+        }
+
+        /**
+         * Returns up to {@code limit} employees with a sequence number after {@code cursor} and no later than
+         * {@code until}.
+         */
+        public MockEmployeePage page(long cursor, long until, int limit) {
+            int from = employees.firstAfter(cursor);
+            int end = employees.firstAfter(until);
+            int to = Math.min(end, from + limit);
+            Long nextCursor = to < end ? employees.sequenceAt(to - 1) : null;
+            return new MockEmployeePage(
+                    employees.subList(from, Math.max(from, to)), nextCursor, employees.lastSequence());
+        }
+    }
+
+    public interface MutationListener {
+
+        MutationListener NONE = new MutationListener() {};
+
+        default void added(MockEmployee employee) {}
+
+        default void removed(MockEmployee employee) {}
+    }
+
+    private final Object writeLock = new Object();
+
+    private final String epoch = Long.toHexString(RandomGenerator.getDefault().nextLong());
+
+    // Slot version % length holds the change that produced version. Filled before the snapshot is published, so a
+    // reader that has seen a version also sees its change, or a newer one it can tell apart by version.
+    private final MockEmployeeChange[] changes;
+
+    private volatile Snapshot snapshot;
+
+    // Guarded by writeLock.
+    private long nextSequence = 1;
+    private MutationListener listener = MutationListener.NONE;
+
+    public MockEmployeeStore(@NonNull Collection<MockEmployee> employees) {
+        this(employees, DEFAULT_CHANGE_LOG_SIZE);
+    }
+
+    public MockEmployeeStore(@NonNull Collection<MockEmployee> employees, int changeLogSize) {
+        if (changeLogSize < 1) {
+            throw new IllegalArgumentException("changeLogSize must be positive");
+        }
+        this.changes = new MockEmployeeChange[changeLogSize];
+        // A repeated id replaces the earlier employee in its place.
+        Map<UUID, MockEmployee> unique = new LinkedHashMap<>();
+        for (MockEmployee employee : employees) {
+            unique.put(Objects.requireNonNull(employee.getId(), "id"), employee);
+        }
+        ChunkedRoster roster = ChunkedRoster.of(unique.values(), nextSequence);
+        PersistentMap<UUID, Long> sequenceById = PersistentMap.empty();
+        PersistentMap<String, long[]> sequencesByName = PersistentMap.empty();
+        for (MockEmployee employee : unique.values()) {
+            long sequence = nextSequence++;
+            sequenceById = sequenceById.with(employee.getId(), sequence);
+            sequencesByName = indexName(sequencesByName, employee, sequence);
+        }
+        this.snapshot = new Snapshot(0, roster, sequenceById, sequencesByName);
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the writes made after version {@code since} of store {@code epoch}, or empty if they can no longer be
+     * told: the epoch is another store's, the version is newer than this store's, or it has fallen out of the change
+     * log.
+     */
+    public Optional<MockEmployeeChanges> changesSince(@NonNull String epoch, long since) {
+        long version = snapshot.version();
+        if (!this.epoch.equals(epoch) || since < 0 || since > version || version - since > changes.length) {
+            return Optional.empty();
+        }
+        List<MockEmployeeChange> found = new ArrayList<>((int) (version - since));
+        for (long next = since + 1; next <= version; next++) {
+            MockEmployeeChange change = changes[(int) (next % changes.length)];
+            if (change == null || change.version() != next) {
+                // Overwritten by writers that lapped this read.
+                return Optional.empty();
+            }
+            found.add(change);
+        }
+        return Optional.of(new MockEmployeeChanges(epoch, version, Collections.unmodifiableList(found)));
+    }
+
+    public void setMutationListener(@NonNull MutationListener listener) {
+        synchronized (writeLock) {
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * Runs {@code action} on the current snapshot with writers held off, so nothing is written between reading the
+     * snapshot and the action finishing.
+     */
+    public <T> T withWritesPaused(@NonNull Function<Snapshot, T> action) {
+        synchronized (writeLock) {
+            return action.apply(snapshot);
+        }
+    }
+
+    public void add(@NonNull MockEmployee employee) {
+        UUID id = Objects.requireNonNull(employee.getId(), "id");
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            Long sequence = current.sequenceById.get(id);
+            Snapshot next;
+            if (sequence != null) {
+                int position = current.employees.positionOf(sequence);
+                PersistentMap<String, long[]> sequencesByName =
+                        unindexName(current.sequencesByName, current.employees.get(position), sequence);
+                next = new Snapshot(
+                        current.version + 1,
+                        current.employees.replaced(position, employee),
+                        current.sequenceById,
+                        indexName(sequencesByName, employee, sequence));
+            } else {
+                long added = nextSequence++;
+                next = new Snapshot(
+                        current.version + 1,
+                        current.employees.appended(employee, added),
+                        current.sequenceById.with(id, added),
+                        indexName(current.sequencesByName, employee, added));
+            }
+            listener.added(employee);
+            recordChange(current, MockEmployeeChange.Operation.CREATED, employee);
+            snapshot = next;
+        }
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return snapshot.findById(id);
+    }
+
+    /**
+     * Removes the earliest added employee whose name matches ignoring case.
+     */
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            long[] sequences = current.sequencesByName.get(fold(name));
+            if (sequences == null) {
+                return Optional.empty();
+            }
+            int position = current.employees.positionOf(sequences[0]);
+            MockEmployee removed = current.employees.get(position);
+            Snapshot next = new Snapshot(
+                    current.version + 1,
+                    current.employees.removed(position),
+                    current.sequenceById.without(removed.getId()),
+                    unindexName(current.sequencesByName, removed, sequences[0]));
+            listener.removed(removed);
+            recordChange(current, MockEmployeeChange.Operation.DELETED, removed);
+            snapshot = next;
+            return Optional.of(removed);
+        }
+    }
+
+    public List<MockEmployee> list() {
+        return snapshot.employees();
+    }
+
+    public int size() {
+        return snapshot.employees().size();
+    }
+
+    private void recordChange(Snapshot current, MockEmployeeChange.Operation operation, MockEmployee employee) {
+        long version = current.version() + 1;
+        changes[(int) (version % changes.length)] = new MockEmployeeChange(version, operation, employee);
+    }
+
+    // The sequence arrays are never written once indexed, so both helpers replace the entry rather than mutate it.
+    private static PersistentMap<String, long[]> indexName(
+            PersistentMap<String, long[]> sequencesByName, MockEmployee employee, long sequence) {
+        if (employee.getName() == null) {
+            return sequencesByName;
+        }
+        String name = fold(employee.getName());
+        long[] sequences = sequencesByName.get(name);
+        if (sequences == null) {
+            return sequencesByName.with(name, new long[] {sequence});
+        }
+        int at = -Arrays.binarySearch(sequences, sequence) - 1;
+        long[] inserted = new long[sequences.length + 1];
+        System.arraycopy(sequences, 0, inserted, 0, at);
+        inserted[at] = sequence;
+        System.arraycopy(sequences, at, inserted, at + 1, sequences.length - at);
+        return sequencesByName.with(name, inserted);
+    }
+
+    private static PersistentMap<String, long[]> unindexName(
+            PersistentMap<String, long[]> sequencesByName, MockEmployee employee, long sequence) {
+        if (employee.getName() == null) {
+            return sequencesByName;
+        }
+        String name = fold(employee.getName());
+        long[] sequences = sequencesByName.get(name);
+        int at = sequences == null ? -1 : Arrays.binarySearch(sequences, sequence);
+        if (at < 0) {
+            return sequencesByName;
+        }
+        if (sequences.length == 1) {
+            return sequencesByName.without(name);
+        }
+        long[] kept = new long[sequences.length - 1];
+        System.arraycopy(sequences, 0, kept, 0, at);
+        System.arraycopy(sequences, at + 1, kept, at, kept.length - at);
+        return sequencesByName.with(name, kept);
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,127 @@
+package com.reliaquest.server.service;
+
+import java.util.Objects;
+
+/**
+ * Immutable hash map whose writes return a new map sharing everything but the path to the changed entry. Entries sit
+ * in a trie of 32-slot nodes indexed by five hash bits per level, so a put or remove copies a few small arrays rather
+ * than the whole map. Null keys and values are not allowed.
+ */
+final class PersistentMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(new Object[WIDTH], 0);
+
+    // Each slot holds null, a child node, or a chain of entries. All entries in one chain share their full hash, so
+    // a chain never needs splitting once the hash bits run out.
+    private final Object[] root;
+    private final int size;
+
+    private PersistentMap(Object[] root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(K key) {
+        int hash = hash(key);
+        Object[] node = root;
+        for (int shift = 0; ; shift += BITS) {
+            Object slot = node[(hash >>> shift) & MASK];
+            if (slot instanceof Object[] child) {
+                node = child;
+                continue;
+            }
+            for (Entry entry = (Entry) slot; entry != null; entry = entry.next()) {
+                if (entry.hash() == hash && entry.key().equals(key)) {
+                    return (V) entry.value();
+                }
+            }
+            return null;
+        }
+    }
+
+    PersistentMap<K, V> with(K key, V value) {
+        Entry entry = new Entry(hash(key), key, Objects.requireNonNull(value, "value"), null);
+        return new PersistentMap<>(put(root, 0, entry), get(key) == null ? size + 1 : size);
+    }
+
+    PersistentMap<K, V> without(K key) {
+        if (get(key) == null) {
+            return this;
+        }
+        return new PersistentMap<>(remove(root, 0, hash(key), key), size - 1);
+    }
+
+    private static Object[] put(Object[] node, int shift, Entry entry) {
+        Object[] copy = node.clone();
+        int index = (entry.hash() >>> shift) & MASK;
+        Object slot = node[index];
+        if (slot instanceof Object[] child) {
+            copy[index] = put(child, shift + BITS, entry);
+        } else if (slot == null || ((Entry) slot).hash() == entry.hash()) {
+            Entry rest = unlink((Entry) slot, entry.key());
+            copy[index] = new Entry(entry.hash(), entry.key(), entry.value(), rest);
+        } else {
+            // Two hashes meet in one slot: push the existing chain down a level, where their next bits tell them apart.
+            Entry existing = (Entry) slot;
+            Object[] child = new Object[WIDTH];
+            child[(existing.hash() >>> (shift + BITS)) & MASK] = existing;
+            copy[index] = put(child, shift + BITS, entry);
+        }
+        return copy;
+    }
+
+    private static Object[] remove(Object[] node, int shift, int hash, Object key) {
+        Object[] copy = node.clone();
+        int index = (hash >>> shift) & MASK;
+        Object slot = node[index];
+        if (slot instanceof Object[] child) {
+            Object[] shrunk = remove(child, shift + BITS, hash, key);
+            copy[index] = isEmpty(shrunk) ? null : shrunk;
+        } else {
+            copy[index] = unlink((Entry) slot, key);
+        }
+        return copy;
+    }
+
+    private static Entry unlink(Entry chain, Object key) {
+        if (chain == null) {
+            return null;
+        }
+        if (chain.key().equals(key)) {
+            return chain.next();
+        }
+        Entry rest = unlink(chain.next(), key);
+        return rest == chain.next() ? chain : new Entry(chain.hash(), chain.key(), chain.value(), rest);
+    }
+
+    private static boolean isEmpty(Object[] node) {
+        for (Object slot : node) {
+            if (slot != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The trie reads the low bits first, so fold the high bits into them.
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private record Entry(int hash, Object key, Object value, Entry next) {}
+}
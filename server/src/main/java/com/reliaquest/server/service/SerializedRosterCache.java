@@ -0,0 +1,111 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * The list endpoint's response body, serialized once per store version instead of once per request, and gzipped at
+ * most once per version. A write bumps the store version, which is all the invalidation there is.
+ *
+ * <p>The ETag is the store version qualified by the store's epoch, since versions start over when the server restarts.
+ * It is weak because the JSON and gzip representations share it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SerializedRosterCache {
+
+    private final MockEmployeeStore mockEmployeeStore;
+    private final ObjectMapper objectMapper;
+
+    private volatile SerializedRoster current;
+
+    public SerializedRoster get() {
+        MockEmployeeStore.Snapshot snapshot = mockEmployeeStore.snapshot();
+        SerializedRoster cached = current;
+        if (cached != null && cached.getVersion() >= snapshot.version()) {
+            return cached;
+        }
+        synchronized (this) {
+            cached = current;
+            if (cached == null || cached.getVersion() < snapshot.version()) {
+                cached = serialize(snapshot);
+                current = cached;
+            }
+            return cached;
+        }
+    }
+
+    private SerializedRoster serialize(MockEmployeeStore.Snapshot snapshot) {
+        long started = System.nanoTime();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(Response.handledWith(snapshot.employees()));
+            log.debug(
+                    "Serialized roster version {} ({} bytes) in {} us",
+                    snapshot.version(),
+                    json.length,
+                    (System.nanoTime() - started) / 1_000);
+            String epoch = mockEmployeeStore.epoch();
+            String etag = "W/\"%s-%d\"".formatted(epoch, snapshot.version());
+            return new SerializedRoster(epoch, snapshot.version(), etag, json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public static final class SerializedRoster {
+
+        @Getter
+        private final String epoch;
+
+        @Getter
+        private final long version;
+
+        @Getter
+        private final String etag;
+
+        @Getter
+        private final byte[] json;
+
+        private volatile byte[] gzip;
+
+        SerializedRoster(String epoch, long version, String etag, byte[] json) {
+            this.epoch = epoch;
+            this.version = version;
+            this.etag = etag;
+            this.json = json;
+        }
+
+        public byte[] getGzip() {
+            byte[] compressed = gzip;
+            if (compressed == null) {
+                synchronized (this) {
+                    compressed = gzip;
+                    if (compressed == null) {
+                        compressed = compress(json);
+                        gzip = compressed;
+                    }
+                }
+            }
+            return compressed;
+        }
+
+        private static byte[] compress(byte[] bytes) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out, 1 << 16)) {
+                gzip.write(bytes);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return out.toByteArray();
+        }
+    }
+}
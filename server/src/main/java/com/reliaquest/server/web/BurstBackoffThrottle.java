@@ -0,0 +1,65 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Accepts {@code limit} requests, then rejects everything until {@code backoff} has passed since the last accepted one,
+ * and starts over. This is how the mock server has always throttled; {@link #random} picks the limit and backoff the
+ * way it always has, but from a seed so that a run can be repeated.
+ */
+public class BurstBackoffThrottle implements RequestThrottle {
+
+    private final int limit;
+    private final long backoffNanos;
+    private final LongSupplier clock;
+
+    private final AtomicReference<Burst> burst;
+
+    public BurstBackoffThrottle(int limit, Duration backoff, LongSupplier clock) {
+        this.limit = limit;
+        this.backoffNanos = backoff.toNanos();
+        this.clock = clock;
+        this.burst = new AtomicReference<>(new Burst(0, clock.getAsLong()));
+    }
+
+    /**
+     * A limit of 5 to 9 requests and a backoff of 30 to 89 seconds, drawn from {@code seed}.
+     */
+    public static BurstBackoffThrottle random(long seed, LongSupplier clock) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return new BurstBackoffThrottle(random.nextInt(5, 10), Duration.ofSeconds(random.nextInt(30, 90)), clock);
+    }
+
+    @Override
+    public boolean tryAcquire(HttpServletRequest request) {
+        while (true) {
+            Burst current = burst.get();
+            long now = clock.getAsLong();
+            Burst next;
+            if (current.count() < limit) {
+                next = new Burst(current.count() + 1, now);
+            } else if (now - current.lastAccepted() >= backoffNanos) {
+                next = new Burst(1, now);
+            } else {
+                return false;
+            }
+            if (burst.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public Duration getBackoff() {
+        return Duration.ofNanos(backoffNanos);
+    }
+
+    private record Burst(int count, long lastAccepted) {}
+}
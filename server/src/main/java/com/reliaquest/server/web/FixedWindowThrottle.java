@@ -0,0 +1,47 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Accepts up to {@code limit} requests per {@code window}, with windows aligned to when the throttle was created.
+ */
+public class FixedWindowThrottle implements RequestThrottle {
+
+    private final int limit;
+    private final long windowNanos;
+    private final LongSupplier clock;
+    private final long origin;
+
+    // Window number in the high 32 bits, requests accepted in it in the low 32, so both change in one CAS.
+    private final AtomicLong state = new AtomicLong();
+
+    public FixedWindowThrottle(int limit, Duration window, LongSupplier clock) {
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+    }
+
+    @Override
+    public boolean tryAcquire(HttpServletRequest request) {
+        long window = (clock.getAsLong() - origin) / windowNanos;
+        while (true) {
+            long current = state.get();
+            long next;
+            // A thread that read the clock before another moved to a newer window counts against the newer one.
+            if (current >>> 32 < window) {
+                next = window << 32 | 1;
+            } else if ((int) current < limit) {
+                next = current + 1;
+            } else {
+                return false;
+            }
+            if (state.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
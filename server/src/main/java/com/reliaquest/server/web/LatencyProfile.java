@@ -0,0 +1,39 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Delay added to each request before it is handled, to see how clients behave against a slow upstream.
+ */
+@FunctionalInterface
+public interface LatencyProfile {
+
+    LatencyProfile NONE = () -> 0;
+
+    long nextDelayNanos();
+
+    static LatencyProfile fixed(Duration delay) {
+        long nanos = delay.toNanos();
+        return () -> nanos;
+    }
+
+    static LatencyProfile uniform(Duration min, Duration max) {
+        long low = min.toNanos();
+        long high = max.toNanos();
+        if (high <= low) {
+            return fixed(min);
+        }
+        return () -> ThreadLocalRandom.current().nextLong(low, high + 1);
+    }
+
+    /**
+     * Exponentially distributed around {@code mean}, so most requests are quick and a few are slow, capped at
+     * {@code max}.
+     */
+    static LatencyProfile exponential(Duration mean, Duration max) {
+        double meanNanos = mean.toNanos();
+        long cap = max.toNanos();
+        return () -> Math.min(cap, (long) (-meanNanos * Math.log(1 - ThreadLocalRandom.current().nextDouble())));
+    }
+}
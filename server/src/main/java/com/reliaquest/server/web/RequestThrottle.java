@@ -0,0 +1,15 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Decides whether the mock server accepts a request or answers {@code 429 Too Many Requests}. Implementations keep
+ * their state in atomics updated by compare-and-set, so the configured limit holds exactly however many requests race
+ * for it.
+ */
+public interface RequestThrottle {
+
+    RequestThrottle OFF = request -> true;
+
+    boolean tryAcquire(HttpServletRequest request);
+}
@@ -0,0 +1,36 @@
+package com.reliaquest.server.web;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Delays each request by the configured {@link LatencyProfile}, then lets the {@link RequestThrottle} accept it or
+ * answer {@code 429 Too Many Requests}, counting every rejection.
+ */
+@RequiredArgsConstructor
+public class ThrottlingInterceptor implements HandlerInterceptor {
+
+    private final RequestThrottle throttle;
+    private final LatencyProfile latency;
+    private final Counter rejected;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        long delay = latency.nextDelayNanos();
+        if (delay > 0) {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        }
+        if (!throttle.tryAcquire(request)) {
+            rejected.increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return false;
+        }
+        return true;
+    }
+}
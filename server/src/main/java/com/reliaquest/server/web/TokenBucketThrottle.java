@@ -0,0 +1,59 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets of {@code capacity} tokens refilled at {@code ratePerSecond}, either one shared by every client or one
+ * per stripe of client addresses. Clients whose addresses hash to the same stripe share its bucket, so more stripes
+ * mean fewer collisions at the cost of a little memory.
+ *
+ * <p>Each bucket is a single long, the time at which it will next be full (the generic cell rate algorithm), rather
+ * than a token count and a refill time, so taking a token is one CAS and needs no background refill.
+ */
+public class TokenBucketThrottle implements RequestThrottle {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier clock;
+    private final long origin;
+    private final int stripeMask;
+
+    // Per stripe, the nanos since origin at which its bucket is next full; at or before now it is full already.
+    private final AtomicLongArray fullAt;
+
+    public TokenBucketThrottle(int capacity, double ratePerSecond, int stripes, LongSupplier clock) {
+        if (capacity < 1 || ratePerSecond <= 0 || stripes < 1) {
+            throw new IllegalArgumentException("capacity, rate and stripes must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000 / ratePerSecond));
+        this.toleranceNanos = intervalNanos * (capacity - 1);
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+        int size = Integer.highestOneBit(Math.max(1, stripes * 2 - 1));
+        this.stripeMask = size - 1;
+        this.fullAt = new AtomicLongArray(size);
+    }
+
+    @Override
+    public boolean tryAcquire(HttpServletRequest request) {
+        int stripe = stripeMask == 0 ? 0 : stripeOf(request.getRemoteAddr());
+        long now = clock.getAsLong() - origin;
+        while (true) {
+            long current = fullAt.get(stripe);
+            long start = Math.max(current, now);
+            if (start - now > toleranceNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(stripe, current, start + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    private int stripeOf(String address) {
+        int hash = address == null ? 0 : address.hashCode();
+        return (hash ^ (hash >>> 16)) & stripeMask;
+    }
+}
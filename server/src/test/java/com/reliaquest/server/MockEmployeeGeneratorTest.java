@@ -0,0 +1,39 @@
+package com.reliaquest.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void sameSeedGeneratesByteIdenticalRosters() throws Exception {
+        // More than one chunk, with a partial last chunk.
+        List<MockEmployee> first = MockEmployeeGenerator.generate(42, 25_001);
+        List<MockEmployee> second = MockEmployeeGenerator.generate(42, 25_001);
+
+        assertThat(first).hasSize(25_001);
+        assertThat(objectMapper.writeValueAsBytes(first)).isEqualTo(objectMapper.writeValueAsBytes(second));
+        assertThat(first).extracting(MockEmployee::getId).doesNotHaveDuplicates();
+        assertThat(first.get(0).getId().version()).isEqualTo(4);
+    }
+
+    @Test
+    void differentSeedsGenerateDifferentRosters() {
+        List<UUID> first = ids(MockEmployeeGenerator.generate(1, 10));
+        List<UUID> second = ids(MockEmployeeGenerator.generate(2, 10));
+
+        assertThat(first).doesNotContainAnyElementsOf(second);
+    }
+
+    private static List<UUID> ids(List<MockEmployee> employees) {
+        return employees.stream().map(MockEmployee::getId).toList();
+    }
+}
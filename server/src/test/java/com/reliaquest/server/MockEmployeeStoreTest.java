@@ -0,0 +1,256 @@
+package com.reliaquest.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class MockEmployeeStoreTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MockEmployeeStoreTest.class);
+
+    @Test
+    void findsAndRemovesByFoldedNameInInsertionOrder() {
+        MockEmployee first = employee("Ada Lovelace");
+        MockEmployee second = employee("ADA LOVELACE");
+        MockEmployeeStore store = new MockEmployeeStore(List.of(first, employee("Grace Hopper"), second));
+
+        assertThat(store.findById(second.getId())).contains(second);
+        assertThat(store.removeFirstByName("ada lovelace")).contains(first);
+        assertThat(store.removeFirstByName("Ada Lovelace")).contains(second);
+        assertThat(store.removeFirstByName("Ada Lovelace")).isEmpty();
+        assertThat(store.list()).extracting(MockEmployee::getName).containsExactly("Grace Hopper");
+        assertThat(store.snapshot().version()).isEqualTo(2);
+    }
+
+    @Test
+    void pageCursorsStayStableAcrossWrites() {
+        List<MockEmployee> seed = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            seed.add(employee("Employee " + i));
+        }
+        MockEmployeeStore store = new MockEmployeeStore(seed);
+
+        MockEmployeePage first = store.snapshot().page(0, Long.MAX_VALUE, 2);
+        assertThat(first.employees()).containsExactly(seed.get(0), seed.get(1));
+        assertThat(first.nextCursor()).isEqualTo(2);
+        assertThat(first.lastCursor()).isEqualTo(5);
+
+        store.removeFirstByName("Employee 0");
+        store.removeFirstByName("Employee 2");
+        MockEmployee added = employee("Employee 5");
+        store.add(added);
+
+        MockEmployeePage second = store.snapshot().page(first.nextCursor(), Long.MAX_VALUE, 2);
+        assertThat(second.employees()).containsExactly(seed.get(3), seed.get(4));
+        MockEmployeePage third = store.snapshot().page(second.nextCursor(), Long.MAX_VALUE, 2);
+        assertThat(third.employees()).containsExactly(added);
+        assertThat(third.nextCursor()).isNull();
+        assertThat(store.snapshot().page(0, 4, 10).employees()).containsExactly(seed.get(1), seed.get(3));
+    }
+
+    @Test
+    void changesReplayWritesUntilTheyFallOutOfTheLog() {
+        MockEmployee ada = employee("Ada Lovelace");
+        MockEmployeeStore store = new MockEmployeeStore(List.of(employee("Grace Hopper")), 3);
+        String epoch = store.epoch();
+        store.add(ada);
+        store.removeFirstByName("Grace Hopper");
+
+        MockEmployeeChanges changes = store.changesSince(epoch, 0).orElseThrow();
+        assertThat(changes.version()).isEqualTo(2);
+        assertThat(changes.changes())
+                .extracting(MockEmployeeChange::operation)
+                .containsExactly(MockEmployeeChange.Operation.CREATED, MockEmployeeChange.Operation.DELETED);
+        assertThat(changes.changes().get(0).employee()).isEqualTo(ada);
+        assertThat(store.changesSince(epoch, 2).orElseThrow().changes()).isEmpty();
+
+        store.add(employee("Alan Turing"));
+        store.add(employee("Edsger Dijkstra"));
+        assertThat(store.changesSince(epoch, 0)).isEmpty();
+        assertThat(store.changesSince(epoch, 1).orElseThrow().changes()).hasSize(3);
+        assertThat(store.changesSince(epoch, 5)).isEmpty();
+        assertThat(store.changesSince("another", 4)).isEmpty();
+    }
+
+    @Test
+    void readersSeeConsistentSnapshotsWhileWritersRun() throws Exception {
+        List<MockEmployee> seed = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            seed.add(employee("Seed " + i));
+        }
+        MockEmployeeStore store = new MockEmployeeStore(seed);
+        int writers = 2;
+        int readers = 6;
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+        LongAdder kept = new LongAdder();
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(writers + readers);
+        try {
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                pool.execute(() -> run(start, errors, () -> {
+                    for (int i = 0; running.get(); i++) {
+                        String name = "Writer " + writer + " " + i;
+                        store.add(employee(name));
+                        if (i % 2 == 1) {
+                            assertThat(store.removeFirstByName(name)).isPresent();
+                        } else {
+                            kept.increment();
+                        }
+                        writes.increment();
+                    }
+                }));
+            }
+            for (int r = 0; r < readers; r++) {
+                pool.execute(() -> run(start, errors, () -> {
+                    long lastVersion = -1;
+                    while (running.get()) {
+                        MockEmployeeStore.Snapshot snapshot = store.snapshot();
+                        assertThat(snapshot.version()).isGreaterThanOrEqualTo(lastVersion);
+                        lastVersion = snapshot.version();
+                        int size = 0;
+                        for (MockEmployee employee : snapshot.employees()) {
+                            assertThat(snapshot.findById(employee.getId())).containsSame(employee);
+                            size++;
+                        }
+                        assertThat(snapshot.employees()).hasSize(size);
+                        reads.increment();
+                    }
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            TimeUnit.SECONDS.sleep(2);
+            running.set(false);
+            pool.shutdown();
+            assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+            double seconds = (System.nanoTime() - started) / 1e9;
+            log.info(
+                    "{} readers: {} full-roster reads/s while {} writers made {} writes/s",
+                    readers,
+                    Math.round(reads.sum() / seconds),
+                    writers,
+                    Math.round(writes.sum() / seconds));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(errors).isEmpty();
+        assertThat(reads.sum()).isPositive();
+        assertThat(store.size()).isEqualTo(1_000 + kept.sum());
+    }
+
+    @Test
+    void matchesAPlainListThroughManyWrites() {
+        List<MockEmployee> expected = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            expected.add(employee("Name " + i % 300));
+        }
+        MockEmployeeStore store = new MockEmployeeStore(expected);
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            int op = random.nextInt(3);
+            if (op == 0) {
+                MockEmployee added = employee("Name " + random.nextInt(300));
+                store.add(added);
+                expected.add(added);
+            } else if (op == 1 && !expected.isEmpty()) {
+                int position = random.nextInt(expected.size());
+                MockEmployee replacement = employee("Name " + random.nextInt(300)).toBuilder()
+                        .id(expected.get(position).getId())
+                        .build();
+                store.add(replacement);
+                expected.set(position, replacement);
+            } else {
+                String name = "name " + random.nextInt(300);
+                Optional<MockEmployee> first = expected.stream()
+                        .filter(employee -> employee.getName().equalsIgnoreCase(name))
+                        .findFirst();
+                assertThat(store.removeFirstByName(name)).isEqualTo(first);
+                first.ifPresent(expected::remove);
+            }
+        }
+
+        assertThat(store.list()).containsExactlyElementsOf(expected);
+        for (MockEmployee employee : expected) {
+            assertThat(store.findById(employee.getId())).containsSame(employee);
+        }
+        List<MockEmployee> paged = new ArrayList<>();
+        Long cursor = 0L;
+        while (cursor != null) {
+            MockEmployeePage page = store.snapshot().page(cursor, Long.MAX_VALUE, 97);
+            paged.addAll(page.employees());
+            cursor = page.nextCursor();
+        }
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void writeCostDoesNotGrowWithTheRoster() {
+        nanosPerWrite(1_000);
+        long small = nanosPerWrite(1_000);
+        long large = nanosPerWrite(200_000);
+        log.info("{} ns per write with 1,000 employees, {} ns with 200,000", small, large);
+
+        // Copying the roster on each write would make the larger store two hundred times slower.
+        assertThat(large).isLessThan(small * 20);
+    }
+
+    private static long nanosPerWrite(int rosterSize) {
+        List<MockEmployee> seed = new ArrayList<>();
+        for (int i = 0; i < rosterSize; i++) {
+            seed.add(employee("Seed " + i));
+        }
+        MockEmployeeStore store = new MockEmployeeStore(seed);
+        int rounds = 20_000;
+        long started = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            store.add(seed.get(i * 7919 % rosterSize).toBuilder().salary(i).build());
+            store.add(employee("Added " + i));
+            store.removeFirstByName("Added " + i);
+        }
+        return (System.nanoTime() - started) / (rounds * 3L);
+    }
+
+    private static void run(CountDownLatch start, ConcurrentLinkedQueue<Throwable> errors, Runnable body) {
+        try {
+            start.await();
+            body.run();
+        } catch (Throwable t) {
+            errors.add(t);
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(50_000)
+                .age(30)
+                .title("Engineer")
+                .email("e@company.com")
+                .build();
+    }
+}
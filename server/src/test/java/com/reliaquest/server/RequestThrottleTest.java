@@ -0,0 +1,109 @@
+package com.reliaquest.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.reliaquest.server.web.BurstBackoffThrottle;
+import com.reliaquest.server.web.FixedWindowThrottle;
+import com.reliaquest.server.web.RequestThrottle;
+import com.reliaquest.server.web.TokenBucketThrottle;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class RequestThrottleTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void fixedWindowAcceptsExactlyTheLimitUnderContention() throws Exception {
+        FixedWindowThrottle throttle = new FixedWindowThrottle(1_000, Duration.ofMinutes(1), now::get);
+
+        assertThat(acceptedConcurrently(throttle, 8, 1_000)).isEqualTo(1_000);
+
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertThat(throttle.tryAcquire(request("10.0.0.1"))).isTrue();
+    }
+
+    @Test
+    void tokenBucketAllowsABurstThenRefillsAtTheRate() throws Exception {
+        TokenBucketThrottle throttle = new TokenBucketThrottle(500, 10, 1, now::get);
+
+        assertThat(acceptedConcurrently(throttle, 8, 500)).isEqualTo(500);
+
+        now.addAndGet(Duration.ofMillis(250).toNanos());
+        assertThat(throttle.tryAcquire(request("10.0.0.1"))).isTrue();
+        assertThat(throttle.tryAcquire(request("10.0.0.1"))).isTrue();
+        assertThat(throttle.tryAcquire(request("10.0.0.1"))).isFalse();
+    }
+
+    @Test
+    void perClientBucketsDoNotShareTokens() {
+        TokenBucketThrottle throttle = new TokenBucketThrottle(2, 1, 1 << 16, now::get);
+
+        assertThat(throttle.tryAcquire(request("10.0.0.1"))).isTrue();
+        assertThat(throttle.tryAcquire(request("10.0.0.1"))).isTrue();
+        assertThat(throttle.tryAcquire(request("10.0.0.1"))).isFalse();
+        assertThat(throttle.tryAcquire(request("10.0.0.2"))).isTrue();
+    }
+
+    @Test
+    void burstBackoffRejectsUntilTheBackoffHasPassed() {
+        BurstBackoffThrottle throttle = new BurstBackoffThrottle(2, Duration.ofSeconds(30), now::get);
+
+        assertThat(throttle.tryAcquire(request("10.0.0.1"))).isTrue();
+        assertThat(throttle.tryAcquire(request("10.0.0.1"))).isTrue();
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertThat(throttle.tryAcquire(request("10.0.0.1"))).isFalse();
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(throttle.tryAcquire(request("10.0.0.1"))).isTrue();
+    }
+
+    @Test
+    void randomLimitsAreRepeatableFromTheSeed() {
+        BurstBackoffThrottle first = BurstBackoffThrottle.random(42, now::get);
+        BurstBackoffThrottle second = BurstBackoffThrottle.random(42, now::get);
+
+        assertThat(first.getLimit()).isEqualTo(second.getLimit()).isBetween(5, 9);
+        assertThat(first.getBackoff()).isEqualTo(second.getBackoff());
+    }
+
+    private long acceptedConcurrently(RequestThrottle throttle, int threads, int attemptsPerThread)
+            throws InterruptedException {
+        LongAdder accepted = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            String address = "10.0.0." + t;
+            pool.execute(() -> {
+                MockHttpServletRequest request = request(address);
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (throttle.tryAcquire(request)) {
+                        accepted.increment();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        return accepted.sum();
+    }
+
+    private static MockHttpServletRequest request(String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(address);
+        return request;
+    }
+}
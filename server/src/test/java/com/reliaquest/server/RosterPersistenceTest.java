@@ -0,0 +1,97 @@
+package com.reliaquest.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.persistence.RosterPersistence;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RosterPersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restartReplaysSnapshotAndLog() throws Exception {
+        RosterPersistence persistence = persistence();
+        assertThat(persistence.recover()).isEmpty();
+        MockEmployeeStore store = new MockEmployeeStore(MockEmployeeGenerator.generate(7, 1_000));
+        persistence.attach(store);
+        store.add(employee("Ada Lovelace"));
+        store.removeFirstByName(store.list().get(3).getName());
+        List<MockEmployee> expected = store.list();
+        persistence.close();
+
+        assertThat(recover()).isEqualTo(expected);
+    }
+
+    @Test
+    void compactionFoldsTheLogIntoTheSnapshot() throws Exception {
+        RosterPersistence persistence = persistence();
+        MockEmployeeStore store = new MockEmployeeStore(MockEmployeeGenerator.generate(7, 100));
+        persistence.attach(store);
+        store.add(employee("Ada Lovelace"));
+        persistence.compact();
+        store.add(employee("Grace Hopper"));
+        List<MockEmployee> expected = store.list();
+        persistence.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                    .containsExactlyInAnyOrder("roster.snapshot", "roster-1.log");
+        }
+        assertThat(recover()).isEqualTo(expected);
+    }
+
+    @Test
+    void tornTailIsDroppedAndLoggingContinuesAfterIt() throws Exception {
+        RosterPersistence first = persistence();
+        MockEmployeeStore store = new MockEmployeeStore(MockEmployeeGenerator.generate(7, 10));
+        first.attach(store);
+        store.add(employee("Ada Lovelace"));
+        List<MockEmployee> expected = store.list();
+        first.close();
+        Files.write(directory.resolve("roster-0.log"), new byte[] {0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        RosterPersistence persistence = persistence();
+        List<MockEmployee> recovered = persistence.recover().orElseThrow();
+        assertThat(recovered).isEqualTo(expected);
+        MockEmployeeStore restarted = new MockEmployeeStore(recovered);
+        persistence.attach(restarted);
+        restarted.add(employee("Grace Hopper"));
+        expected = restarted.list();
+        persistence.close();
+
+        assertThat(recover()).isEqualTo(expected);
+    }
+
+    private List<MockEmployee> recover() throws Exception {
+        try (RosterPersistence persistence = persistence()) {
+            return persistence.recover().orElseThrow();
+        }
+    }
+
+    private RosterPersistence persistence() {
+        return new RosterPersistence(directory, Duration.ZERO, Duration.ZERO);
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(50_000)
+                .age(30)
+                .title("Engineer")
+                .build();
+    }
+}
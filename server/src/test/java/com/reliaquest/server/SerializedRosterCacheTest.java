@@ -0,0 +1,47 @@
+package com.reliaquest.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeeStore;
+import com.reliaquest.server.service.SerializedRosterCache;
+import java.io.ByteArrayInputStream;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class SerializedRosterCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MockEmployeeStore store = new MockEmployeeStore(MockEmployeeGenerator.generate(3, 50));
+    private final SerializedRosterCache cache = new SerializedRosterCache(store, objectMapper);
+
+    @Test
+    void servesTheSameBytesUntilTheStoreChanges() throws Exception {
+        SerializedRosterCache.SerializedRoster first = cache.get();
+        assertThat(cache.get()).isSameAs(first);
+        assertThat(first.getJson()).isEqualTo(objectMapper.writeValueAsBytes(Response.handledWith(store.list())));
+
+        store.add(MockEmployee.builder().id(UUID.randomUUID()).name("Ada Lovelace").build());
+
+        SerializedRosterCache.SerializedRoster second = cache.get();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getVersion()).isEqualTo(store.snapshot().version());
+        assertThat(new String(second.getJson())).contains("Ada Lovelace");
+        assertThat(second.getEtag()).startsWith("W/\"").isNotEqualTo(first.getEtag());
+    }
+
+    @Test
+    void gzipIsComputedOnceAndInflatesToTheJson() throws Exception {
+        SerializedRosterCache.SerializedRoster roster = cache.get();
+
+        byte[] gzip = roster.getGzip();
+        assertThat(roster.getGzip()).isSameAs(gzip);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertThat(in.readAllBytes()).isEqualTo(roster.getJson());
+        }
+    }
+}